@@ -17,6 +17,8 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     user_agent     TEXT,
     created_at     TIMESTAMP NOT NULL
 );
+-- Le colonne successive (occurrence_count, last_seen_at, actor_normalized), gli indici composti
+-- e i contatori audit_log_counts sono aggiunti all'avvio dalle migrazioni Flyway V5/V6 (db/migration/sqlite).
 
 -- Indici per query e filtri
 CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at ON audit_logs(created_at);
@@ -0,0 +1,106 @@
+package com.portfolio.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Confronta i risultati JMH (JSON, -rf json) con una baseline salvata e fallisce se un benchmark
+ * peggiora oltre la soglia. Per Throughput peggiora se lo score scende, per gli altri modi se sale.
+ * Benchmark nuovi o assenti dalla baseline vengono solo segnalati.
+ * <p>
+ * Senza baseline fallisce, così un file mancante non fa passare la build senza confronto. Con
+ * {@code registra-baseline = true} i risultati correnti vengono invece copiati come nuova baseline.
+ * <p>
+ * Uso: {@code BaselineComparator <baseline.json> <risultati.json> <soglia-percentuale> [registra-baseline]}
+ */
+public final class BaselineComparator {
+
+    private BaselineComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.println("Uso: BaselineComparator <baseline.json> <risultati.json> <soglia-percentuale> [registra-baseline]");
+            System.exit(2);
+        }
+        Path baselineFile = Path.of(args[0]);
+        Path resultFile = Path.of(args[1]);
+        double thresholdPercent = Double.parseDouble(args[2]);
+        boolean recordBaseline = args.length == 4 && Boolean.parseBoolean(args[3]);
+        if (recordBaseline) {
+            Path dir = baselineFile.toAbsolutePath().getParent();
+            if (dir != null) {
+                Files.createDirectories(dir);
+            }
+            Files.copy(resultFile, baselineFile, StandardCopyOption.REPLACE_EXISTING);
+            System.out.println("Baseline registrata in " + baselineFile + " da " + resultFile);
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.err.println("Nessuna baseline in " + baselineFile
+                    + ": registrarla con -Djmh.record-baseline=true e fare commit del file");
+            System.exit(1);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, Score> baseline = read(mapper, baselineFile);
+        Map<String, Score> current = read(mapper, resultFile);
+
+        int regressions = 0;
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NUOVO      %s: %.3f %s%n", entry.getKey(), now.value(), now.unit());
+                continue;
+            }
+            double changePercent = (now.value() - before.value()) / before.value() * 100.0;
+            // Throughput: più alto è meglio; AverageTime/SampleTime/SingleShot: più basso è meglio
+            double worsePercent = now.higherIsBetter() ? -changePercent : changePercent;
+            boolean regressed = worsePercent > thresholdPercent;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf("%-10s %s: %.3f -> %.3f %s (%+.1f%%)%n",
+                    regressed ? "REGRESSO" : "ok", entry.getKey(), before.value(), now.value(), now.unit(), changePercent);
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.println("MANCANTE   " + key);
+            }
+        }
+        if (regressions > 0) {
+            System.err.printf("%d benchmark peggiorati oltre il %.1f%% rispetto alla baseline%n", regressions, thresholdPercent);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Score> read(ObjectMapper mapper, Path file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : mapper.readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.fields().forEachRemaining(p -> sorted.put(p.getKey(), p.getValue().asText()));
+                key.append(sorted);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            scores.put(key.toString(), new Score(
+                    metric.path("score").asDouble(),
+                    metric.path("scoreUnit").asText(),
+                    "thrpt".equals(run.path("mode").asText())));
+        }
+        return scores;
+    }
+
+    private record Score(double value, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.entity.Contact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rendering dei template HTML delle email contatti (caricamento dal classpath + sostituzione placeholder),
+ * senza invio: nessun SMTP né Resend configurato.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContactMailRenderBenchmark {
+
+    private ContactMailService contactMailService;
+    private Contact contact;
+
+    @Setup
+    public void setUp() {
+        contactMailService = new ContactMailService(null, "owner@example.com", true, "", null);
+        contact = new Contact();
+        contact.setId("00000000-0000-0000-0000-000000000001");
+        contact.setName("Mario <Rossi>");
+        contact.setEmail("mario.rossi@example.com");
+        contact.setMessage("Buongiorno, vorrei un preventivo per un sito \"portfolio\" & blog. ".repeat(20));
+    }
+
+    @Benchmark
+    public String renderOwnerNotification() throws IOException {
+        return contactMailService.renderOwnerNotification(contact);
+    }
+
+    @Benchmark
+    public String renderAutoReply() throws IOException {
+        return contactMailService.renderAutoReply(contact);
+    }
+}
@@ -0,0 +1,138 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.PortfolioApplication;
+import com.portfolio.backend.controller.dto.BulkImportResponse;
+import com.portfolio.backend.controller.dto.PostPublicResponse;
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.repository.PostRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lista pubblica paginata dei post (GET /api/posts/{locale}) su un database SQLite temporaneo,
+ * con il contesto Spring completo. Lo schema è generato da Hibernate dalle entity; i post vengono
+ * caricati con l'import bulk NDJSON, quindi il read model in memoria è già popolato.
+ * {@code database} misura la stessa pagina letta direttamente dal repository.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostServiceSqliteBenchmark {
+
+    private static final String[] LOCALES = {"it", "en", "es"};
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"500"})
+    public int postCount;
+
+    private Path databaseFile;
+    private ConfigurableApplicationContext context;
+    private PostService postService;
+    private PostRepository postRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        databaseFile = Files.createTempFile("portfolio-bench", ".db");
+        context = new SpringApplicationBuilder(PortfolioApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:sqlite:" + databaseFile.toAbsolutePath(),
+                        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "spring.flyway.enabled=false",
+                        "jwt.secret=benchmark-secret-benchmark-secret-benchmark-secret-0123456789",
+                        "jwt.expiration-ms=3600000",
+                        "logging.level.root=WARN")
+                .run();
+        postService = context.getBean(PostService.class);
+        postRepository = context.getBean(PostRepository.class);
+        BulkImportResponse result = context.getBean(PostBulkService.class)
+                .importNdjson(new ByteArrayInputStream(seedNdjson(postCount).getBytes(StandardCharsets.UTF_8)));
+        if (result.getImported() != postCount) {
+            throw new IllegalStateException("Seed incompleto: " + result.getImported() + "/" + postCount
+                    + " errori=" + result.getErrors().size());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (context != null) {
+            context.close();
+        }
+        Files.deleteIfExists(databaseFile);
+    }
+
+    @Benchmark
+    public Page<PostPublicResponse> firstPage() {
+        return postService.findPublishedPageByLocale("it", PageRequest.of(0, PAGE_SIZE), null, null, null);
+    }
+
+    @Benchmark
+    public Page<PostPublicResponse> titleFilter() {
+        return postService.findPublishedPageByLocale("en", PageRequest.of(0, PAGE_SIZE), "post", null, null);
+    }
+
+    @Benchmark
+    public Page<Post> database() {
+        return postRepository.findPublishedByLocaleWithFilters(
+                "published", "it", "", null, null, PageRequest.of(0, PAGE_SIZE));
+    }
+
+    /** Post pubblicati con tre traduzioni; titoli solo lettere (gli slug non ammettono cifre). */
+    private static String seedNdjson(int count) {
+        Instant base = Instant.parse("2024-01-01T00:00:00Z");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            String word = lettersOf(i);
+            sb.append("{\"status\":\"published\",\"createdAt\":\"")
+                    .append(base.plus(i, ChronoUnit.HOURS))
+                    .append("\",\"translations\":[");
+            for (int l = 0; l < LOCALES.length; l++) {
+                if (l > 0) {
+                    sb.append(',');
+                }
+                sb.append("{\"locale\":\"").append(LOCALES[l])
+                        .append("\",\"title\":\"Post ").append(word).append(' ').append(LOCALES[l])
+                        .append("\",\"content\":\"Contenuto di esempio per il post ").append(word).append(".\"}");
+            }
+            sb.append("]}\n");
+        }
+        return sb.toString();
+    }
+
+    private static String lettersOf(int n) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append((char) ('a' + n % 26));
+            n /= 26;
+        } while (n > 0);
+        return sb.toString();
+    }
+}
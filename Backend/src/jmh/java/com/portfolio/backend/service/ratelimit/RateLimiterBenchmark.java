@@ -0,0 +1,71 @@
+package com.portfolio.backend.service.ratelimit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * tryAcquire del {@link RateLimitEngine} con più thread: un pool di chiavi (IP) condiviso e il caso
+ * di un singolo IP che martella lo stesso endpoint (tutti i thread sulla stessa chiave).
+ * Con poche chiavi i thread si contendono lo stesso stato; con molte chiavi pesa la gestione della cache limitata.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RateLimiterBenchmark {
+
+    private static final String HOT_KEY = "203.0.113.7";
+
+    @Param({"16", "10000"})
+    public int keyCount;
+
+    private String[] keys;
+    private RateLimiter publicPosts;
+    private RateLimiter adminLogin;
+
+    @Setup
+    public void setUp() {
+        keys = new String[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            keys[i] = "198.51." + (i / 256) + "." + (i % 256);
+        }
+        RateLimitEngine engine = new RateLimitEngine(new InMemoryRateLimitStore(null, 100_000));
+        publicPosts = engine.register(RateLimitPolicy.of("public-posts", 10, 60));
+        adminLogin = engine.register(RateLimitPolicy.of("admin-login", 5, 60));
+    }
+
+    private String nextKey() {
+        return keys[ThreadLocalRandom.current().nextInt(keys.length)];
+    }
+
+    @Benchmark
+    public boolean publicPosts() {
+        return publicPosts.tryAcquire(nextKey());
+    }
+
+    @Benchmark
+    public boolean adminLogin() {
+        return adminLogin.tryAcquire(nextKey());
+    }
+
+    @Benchmark
+    public boolean singleHotKey() {
+        return publicPosts.tryAcquire(HOT_KEY);
+    }
+}
@@ -0,0 +1,37 @@
+package com.portfolio.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generazione slug dal titolo (create/update post, import bulk).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlugUtilBenchmark {
+
+    @Param({
+            "La vittoria del campionato",
+            "Perché Spring Boot è così veloce? Guida pratica all'ottimizzazione (parte 2)"
+    })
+    public String title;
+
+    @Benchmark
+    public String slugify() {
+        return SlugUtil.slugify(title);
+    }
+}
@@ -0,0 +1,54 @@
+package com.portfolio.backend.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Strip HTML dei campi testuali (form contatti, titolo/contenuto post), su testo semplice e su markup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class XssSanitizerBenchmark {
+
+    private static final String PLAIN_PARAGRAPH =
+            "Ciao, vorrei informazioni sul progetto e sui tempi di consegna. Grazie mille per la disponibilità! ";
+    private static final String HTML_PARAGRAPH =
+            "<p>Ciao <b>Francesco</b>, <a href=\"javascript:alert(1)\">clicca</a><script>alert('x')</script> grazie!</p>";
+
+    @Param({"1", "50"})
+    public int paragraphs;
+
+    private String plain;
+    private String html;
+
+    @Setup
+    public void setUp() {
+        plain = PLAIN_PARAGRAPH.repeat(paragraphs);
+        html = HTML_PARAGRAPH.repeat(paragraphs);
+    }
+
+    @Benchmark
+    public String stripPlainText() {
+        return XssSanitizer.stripHtml(plain);
+    }
+
+    @Benchmark
+    public String stripHtml() {
+        return XssSanitizer.stripHtml(html);
+    }
+}
@@ -1,18 +1,27 @@
 package com.portfolio.backend.config;
 
 import com.portfolio.backend.config.security.AdminLoginRateLimitFilter;
-import com.portfolio.backend.service.AdminLoginRateLimitService;
 import com.portfolio.backend.service.AuditLogService;
+import com.portfolio.backend.service.ratelimit.RateLimitEngine;
+import com.portfolio.backend.service.ratelimit.RateLimitPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class AdminLoginRateLimitConfig {
 
+    /** Nome della policy nel {@link RateLimitEngine}. */
+    private static final String POLICY = "admin-login";
+
     @Bean
     public AdminLoginRateLimitFilter adminLoginRateLimitFilter(
-            AdminLoginRateLimitService rateLimitService,
-            AuditLogService auditLogService) {
-        return new AdminLoginRateLimitFilter(rateLimitService, auditLogService);
+            RateLimitEngine rateLimitEngine,
+            AuditLogService auditLogService,
+            @Value("${app.admin-login-rate-limit.max-requests:5}") int maxRequests,
+            @Value("${app.admin-login-rate-limit.window-seconds:60}") long windowSeconds) {
+        return new AdminLoginRateLimitFilter(
+                rateLimitEngine.register(RateLimitPolicy.of(POLICY, maxRequests, windowSeconds)),
+                auditLogService);
     }
 }
@@ -1,18 +1,27 @@
 package com.portfolio.backend.config;
 
 import com.portfolio.backend.config.security.AdminMessagesRateLimitFilter;
-import com.portfolio.backend.service.AdminMessagesRateLimitService;
 import com.portfolio.backend.service.AuditLogService;
+import com.portfolio.backend.service.ratelimit.RateLimitEngine;
+import com.portfolio.backend.service.ratelimit.RateLimitPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class AdminMessagesRateLimitConfig {
 
+    /** Nome della policy nel {@link RateLimitEngine}. */
+    private static final String POLICY = "admin-messages";
+
     @Bean
     public AdminMessagesRateLimitFilter adminMessagesRateLimitFilter(
-            AdminMessagesRateLimitService rateLimitService,
-            AuditLogService auditLogService) {
-        return new AdminMessagesRateLimitFilter(rateLimitService, auditLogService);
+            RateLimitEngine rateLimitEngine,
+            AuditLogService auditLogService,
+            @Value("${app.admin-messages-rate-limit.max-requests:10}") int maxRequests,
+            @Value("${app.admin-messages-rate-limit.window-seconds:60}") long windowSeconds) {
+        return new AdminMessagesRateLimitFilter(
+                rateLimitEngine.register(RateLimitPolicy.of(POLICY, maxRequests, windowSeconds)),
+                auditLogService);
     }
 }
@@ -2,16 +2,26 @@ package com.portfolio.backend.config;
 
 import com.portfolio.backend.config.security.ContactRateLimitFilter;
 import com.portfolio.backend.service.AuditLogService;
-import com.portfolio.backend.service.ContactRateLimitService;
+import com.portfolio.backend.service.ratelimit.RateLimitEngine;
+import com.portfolio.backend.service.ratelimit.RateLimitPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class ContactRateLimitConfig {
 
+    /** Nome della policy nel {@link RateLimitEngine}. */
+    private static final String POLICY = "contact";
+
     @Bean
-    public ContactRateLimitFilter contactRateLimitFilter(ContactRateLimitService rateLimitService,
-                                                         AuditLogService auditLogService) {
-        return new ContactRateLimitFilter(rateLimitService, auditLogService);
+    public ContactRateLimitFilter contactRateLimitFilter(
+            RateLimitEngine rateLimitEngine,
+            AuditLogService auditLogService,
+            @Value("${app.contact-rate-limit.max-requests:5}") int maxRequests,
+            @Value("${app.contact-rate-limit.window-seconds:60}") long windowSeconds) {
+        return new ContactRateLimitFilter(
+                rateLimitEngine.register(RateLimitPolicy.of(POLICY, maxRequests, windowSeconds)),
+                auditLogService);
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.context.annotation.Configuration;
 /**
  * Configurazione JWT: secret e expiration sono letti da application.yml
  * (jwt.secret, jwt.expiration-ms) e usati da JwtService.
+ * Chiavi aggiuntive per la rotazione (kid) in jwt.keys-file, vedi JwtKeyRing.
  */
 @Configuration
 public class JwtConfig {
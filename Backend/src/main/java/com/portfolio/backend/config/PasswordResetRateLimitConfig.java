@@ -1,10 +1,14 @@
 package com.portfolio.backend.config;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.portfolio.backend.service.ratelimit.RateLimitKeyCache;
 import io.github.bucket4j.Bandwidth;
 import io.github.bucket4j.Bucket;
 import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.servlet.HandlerInterceptor;
@@ -12,8 +16,6 @@ import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Rate limiting per gli endpoint di reset password.
@@ -23,13 +25,26 @@ import java.util.concurrent.ConcurrentHashMap;
  * 
  * SICUREZZA: Previene abuso del sistema di reset password
  * (es. enumeration di email, DoS, brute force su token).
+ * I bucket per IP stanno in un {@link RateLimitKeyCache} (tetto app.rate-limit.max-keys, scadenza dopo
+ * una finestra di inattività, quando il bucket sarebbe comunque di nuovo pieno).
  */
 @Configuration
 public class PasswordResetRateLimitConfig implements WebMvcConfigurer {
 
+    private static final String LIMITER_NAME = "password-reset";
+    private static final int MAX_REQUESTS = 3;
+    private static final Duration WINDOW = Duration.ofMinutes(15);
+
+    private final Cache<String, Bucket> buckets;
+
+    public PasswordResetRateLimitConfig(MeterRegistry meterRegistry,
+                                        @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        this.buckets = RateLimitKeyCache.build(LIMITER_NAME, WINDOW, maxKeys, meterRegistry);
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new PasswordResetRateLimitInterceptor())
+        registry.addInterceptor(new PasswordResetRateLimitInterceptor(buckets))
                 .addPathPatterns("/api/admin/auth/password-reset-email", "/api/admin/auth/password-reset");
     }
 
@@ -38,15 +53,19 @@ public class PasswordResetRateLimitConfig implements WebMvcConfigurer {
      */
     private static class PasswordResetRateLimitInterceptor implements HandlerInterceptor {
 
-        // Cache di bucket per IP
-        private final Map<String, Bucket> cache = new ConcurrentHashMap<>();
+        // Cache di bucket per IP (limitata)
+        private final Cache<String, Bucket> cache;
+
+        PasswordResetRateLimitInterceptor(Cache<String, Bucket> cache) {
+            this.cache = cache;
+        }
 
         @Override
         public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) 
                 throws Exception {
             
             String ip = resolveIp(request);
-            Bucket bucket = cache.computeIfAbsent(ip, k -> createBucket());
+            Bucket bucket = cache.get(ip, k -> createBucket());
 
             if (bucket.tryConsume(1)) {
                 return true; // consenti richiesta
@@ -65,7 +84,7 @@ public class PasswordResetRateLimitConfig implements WebMvcConfigurer {
          * Crea bucket con limite: 3 richieste ogni 15 minuti.
          */
         private Bucket createBucket() {
-            Bandwidth limit = Bandwidth.classic(3, Refill.intervally(3, Duration.ofMinutes(15)));
+            Bandwidth limit = Bandwidth.classic(MAX_REQUESTS, Refill.intervally(MAX_REQUESTS, WINDOW));
             return Bucket.builder()
                     .addLimit(limit)
                     .build();
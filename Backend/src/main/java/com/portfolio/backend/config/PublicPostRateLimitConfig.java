@@ -2,16 +2,26 @@ package com.portfolio.backend.config;
 
 import com.portfolio.backend.config.security.PublicPostRateLimitFilter;
 import com.portfolio.backend.service.AuditLogService;
-import com.portfolio.backend.service.PublicPostRateLimitService;
+import com.portfolio.backend.service.ratelimit.RateLimitEngine;
+import com.portfolio.backend.service.ratelimit.RateLimitPolicy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class PublicPostRateLimitConfig {
 
+    /** Nome della policy nel {@link RateLimitEngine}. */
+    private static final String POLICY = "public-posts";
+
     @Bean
-    public PublicPostRateLimitFilter publicPostRateLimitFilter(PublicPostRateLimitService rateLimitService,
-                                                              AuditLogService auditLogService) {
-        return new PublicPostRateLimitFilter(rateLimitService, auditLogService);
+    public PublicPostRateLimitFilter publicPostRateLimitFilter(
+            RateLimitEngine rateLimitEngine,
+            AuditLogService auditLogService,
+            @Value("${app.public-posts-rate-limit.max-requests:10}") int maxRequests,
+            @Value("${app.public-posts-rate-limit.window-seconds:60}") long windowSeconds) {
+        return new PublicPostRateLimitFilter(
+                rateLimitEngine.register(RateLimitPolicy.of(POLICY, maxRequests, windowSeconds)),
+                auditLogService);
     }
 }
@@ -0,0 +1,57 @@
+package com.portfolio.backend.config;
+
+import com.portfolio.backend.service.ratelimit.InMemoryRateLimitStore;
+import com.portfolio.backend.service.ratelimit.JdbcRateLimitStore;
+import com.portfolio.backend.service.ratelimit.RateLimitStore;
+import com.portfolio.backend.service.ratelimit.RedisRateLimitStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+
+/**
+ * Sceglie dove tenere lo stato dei rate limiter dei filtri (contatti, post pubblici, login admin, messaggi admin)
+ * in base a {@code app.rate-limit.store}: memory (default), database oppure redis.
+ * Con più istanze dietro un load balancer serve database o redis, altrimenti ogni limite vale per istanza.
+ */
+@Configuration
+public class RateLimitStoreConfig {
+
+    private static final String STORE_PROPERTY = "app.rate-limit.store";
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "memory", matchIfMissing = true)
+    public RateLimitStore inMemoryRateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        return new InMemoryRateLimitStore(meterRegistry, maxKeys);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "database")
+    public RateLimitStore jdbcRateLimitStore(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${spring.datasource.url:}") String datasourceUrl,
+            @Value("${app.rate-limit.database.lease-size:10}") int leaseSize,
+            @Value("${app.rate-limit.database.lease-ms:2000}") long leaseMs,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        boolean postgres = datasourceUrl != null && datasourceUrl.startsWith("jdbc:postgresql:");
+        return new JdbcRateLimitStore(jdbcTemplate, postgres, leaseSize, Duration.ofMillis(leaseMs), maxKeys, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = STORE_PROPERTY, havingValue = "redis")
+    public RateLimitStore redisRateLimitStore(
+            MeterRegistry meterRegistry,
+            @Value("${app.rate-limit.redis.uri:redis://localhost:6379}") String uri,
+            @Value("${app.rate-limit.redis.timeout-ms:200}") long timeoutMs,
+            @Value("${app.rate-limit.redis.key-prefix:portfolio:rl:}") String keyPrefix,
+            @Value("${app.rate-limit.max-keys:100000}") long maxKeys) {
+        return new RedisRateLimitStore(uri, Duration.ofMillis(timeoutMs), keyPrefix, maxKeys, meterRegistry);
+    }
+}
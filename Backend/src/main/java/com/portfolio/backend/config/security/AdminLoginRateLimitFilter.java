@@ -1,7 +1,7 @@
 package com.portfolio.backend.config.security;
 
-import com.portfolio.backend.service.AdminLoginRateLimitService;
 import com.portfolio.backend.service.AuditLogService;
+import com.portfolio.backend.service.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,11 +24,11 @@ public class AdminLoginRateLimitFilter extends OncePerRequestFilter {
     private static final String RATE_LIMIT_EXCEEDED = "RATE_LIMIT_EXCEEDED";
     private static final String RESOURCE_ADMIN_LOGIN = "ADMIN_LOGIN";
 
-    private final AdminLoginRateLimitService rateLimitService;
+    private final RateLimiter rateLimiter;
     private final AuditLogService auditLogService;
 
-    public AdminLoginRateLimitFilter(AdminLoginRateLimitService rateLimitService, AuditLogService auditLogService) {
-        this.rateLimitService = rateLimitService;
+    public AdminLoginRateLimitFilter(RateLimiter rateLimiter, AuditLogService auditLogService) {
+        this.rateLimiter = rateLimiter;
         this.auditLogService = auditLogService;
     }
 
@@ -42,7 +42,7 @@ public class AdminLoginRateLimitFilter extends OncePerRequestFilter {
         }
 
         String clientKey = resolveClientKey(request);
-        if (!rateLimitService.tryAcquire(clientKey)) {
+        if (!rateLimiter.tryAcquire(clientKey)) {
             auditLogService.log("anonymous", RATE_LIMIT_EXCEEDED, RESOURCE_ADMIN_LOGIN, null, null, resolveIp(request), request.getHeader("User-Agent"));
             response.setStatus(429);
             response.setContentType("application/json");
@@ -1,7 +1,7 @@
 package com.portfolio.backend.config.security;
 
-import com.portfolio.backend.service.AdminMessagesRateLimitService;
 import com.portfolio.backend.service.AuditLogService;
+import com.portfolio.backend.service.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -25,11 +25,11 @@ public class AdminMessagesRateLimitFilter extends OncePerRequestFilter {
     private static final String RATE_LIMIT_EXCEEDED = "RATE_LIMIT_EXCEEDED";
     private static final String RESOURCE_ADMIN_MESSAGES = "ADMIN_MESSAGES";
 
-    private final AdminMessagesRateLimitService rateLimitService;
+    private final RateLimiter rateLimiter;
     private final AuditLogService auditLogService;
 
-    public AdminMessagesRateLimitFilter(AdminMessagesRateLimitService rateLimitService, AuditLogService auditLogService) {
-        this.rateLimitService = rateLimitService;
+    public AdminMessagesRateLimitFilter(RateLimiter rateLimiter, AuditLogService auditLogService) {
+        this.rateLimiter = rateLimiter;
         this.auditLogService = auditLogService;
     }
 
@@ -47,7 +47,7 @@ public class AdminMessagesRateLimitFilter extends OncePerRequestFilter {
         }
 
         String clientKey = resolveClientKey(request);
-        if (!rateLimitService.tryAcquire(clientKey)) {
+        if (!rateLimiter.tryAcquire(clientKey)) {
             auditLogService.log("anonymous", RATE_LIMIT_EXCEEDED, RESOURCE_ADMIN_MESSAGES, null, null, resolveIp(request), request.getHeader("User-Agent"));
             response.setStatus(429);
             response.setContentType("application/json");
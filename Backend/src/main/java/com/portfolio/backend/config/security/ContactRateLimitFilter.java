@@ -1,7 +1,7 @@
 package com.portfolio.backend.config.security;
 
 import com.portfolio.backend.service.AuditLogService;
-import com.portfolio.backend.service.ContactRateLimitService;
+import com.portfolio.backend.service.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -23,11 +23,11 @@ public class ContactRateLimitFilter extends OncePerRequestFilter {
     private static final String RATE_LIMIT_EXCEEDED = "RATE_LIMIT_EXCEEDED";
     private static final String RESOURCE_CONTACT = "CONTACT";
 
-    private final ContactRateLimitService rateLimitService;
+    private final RateLimiter rateLimiter;
     private final AuditLogService auditLogService;
 
-    public ContactRateLimitFilter(ContactRateLimitService rateLimitService, AuditLogService auditLogService) {
-        this.rateLimitService = rateLimitService;
+    public ContactRateLimitFilter(RateLimiter rateLimiter, AuditLogService auditLogService) {
+        this.rateLimiter = rateLimiter;
         this.auditLogService = auditLogService;
     }
 
@@ -41,7 +41,7 @@ public class ContactRateLimitFilter extends OncePerRequestFilter {
         }
 
         String clientKey = resolveClientKey(request);
-        if (!rateLimitService.tryAcquire(clientKey)) {
+        if (!rateLimiter.tryAcquire(clientKey)) {
             auditLogService.log("anonymous", RATE_LIMIT_EXCEEDED, RESOURCE_CONTACT, null, null, resolveIp(request), request.getHeader("User-Agent"));
             response.setStatus(429); // Too Many Requests
             response.setContentType("application/json");
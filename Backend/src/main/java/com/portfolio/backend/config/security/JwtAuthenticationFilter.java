@@ -2,6 +2,7 @@ package com.portfolio.backend.config.security;
 
 import com.portfolio.backend.service.AuthService;
 import com.portfolio.backend.service.JwtService;
+import com.portfolio.backend.service.VerifiedJwtCache;
 import jakarta.servlet.FilterChain;
 import org.springframework.context.annotation.Lazy;
 import jakarta.servlet.ServletException;
@@ -25,11 +26,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
 
-    private final JwtService jwtService;
+    private final VerifiedJwtCache verifiedJwtCache;
     private final AuthService authService;
 
-    public JwtAuthenticationFilter(JwtService jwtService, @Lazy AuthService authService) {
-        this.jwtService = jwtService;
+    public JwtAuthenticationFilter(VerifiedJwtCache verifiedJwtCache, @Lazy AuthService authService) {
+        this.verifiedJwtCache = verifiedJwtCache;
         this.authService = authService;
     }
 
@@ -44,10 +45,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         String token = authHeader.substring(BEARER_PREFIX.length());
         try {
-            String username = jwtService.extractUsername(token);
-            int tokenVersion = jwtService.extractTokenVersion(token);
+            // Firma verificata una volta per token (poi dalla cache), token_version e ruolo dal registro in memoria
+            JwtService.JwtClaims claims = verifiedJwtCache.verify(token);
+            String username = claims.username();
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                if (authService.isTokenValid(username, tokenVersion)) {
+                if (authService.isTokenValid(username, claims.tokenVersion())) {
                     List<GrantedAuthority> authorities =
                             authService.getAuthoritiesForAdmin(username);
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
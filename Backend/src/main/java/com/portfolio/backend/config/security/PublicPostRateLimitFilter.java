@@ -1,7 +1,7 @@
 package com.portfolio.backend.config.security;
 
 import com.portfolio.backend.service.AuditLogService;
-import com.portfolio.backend.service.PublicPostRateLimitService;
+import com.portfolio.backend.service.ratelimit.RateLimiter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,11 +24,11 @@ public class PublicPostRateLimitFilter extends OncePerRequestFilter {
     private static final String RATE_LIMIT_EXCEEDED = "RATE_LIMIT_EXCEEDED";
     private static final String RESOURCE_PUBLIC_POSTS = "PUBLIC_POSTS";
 
-    private final PublicPostRateLimitService rateLimitService;
+    private final RateLimiter rateLimiter;
     private final AuditLogService auditLogService;
 
-    public PublicPostRateLimitFilter(PublicPostRateLimitService rateLimitService, AuditLogService auditLogService) {
-        this.rateLimitService = rateLimitService;
+    public PublicPostRateLimitFilter(RateLimiter rateLimiter, AuditLogService auditLogService) {
+        this.rateLimiter = rateLimiter;
         this.auditLogService = auditLogService;
     }
 
@@ -48,7 +48,7 @@ public class PublicPostRateLimitFilter extends OncePerRequestFilter {
         }
 
         String clientKey = resolveClientKey(request);
-        if (!rateLimitService.tryAcquire(clientKey)) {
+        if (!rateLimiter.tryAcquire(clientKey)) {
             auditLogService.log("anonymous", RATE_LIMIT_EXCEEDED, RESOURCE_PUBLIC_POSTS, null, null, resolveIp(request), request.getHeader("User-Agent"));
             response.setStatus(429); // Too Many Requests
             response.setContentType("application/json");
@@ -1,21 +1,34 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.controller.dto.AuditLogCursorPageResponse;
 import com.portfolio.backend.controller.dto.AuditLogResponse;
 import com.portfolio.backend.controller.dto.PagedAuditLogsResponse;
+import com.portfolio.backend.exception.UnsupportedExportFormatException;
+import com.portfolio.backend.service.AuditLogExportService;
 import com.portfolio.backend.service.AuditLogService;
+import com.portfolio.backend.util.ApiErrorUtil;
+import com.portfolio.backend.util.KeysetCursor;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeParseException;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST controller for admin-only retrieval of audit logs.
@@ -26,10 +39,14 @@ import java.time.format.DateTimeParseException;
 @PreAuthorize("hasRole('ADMIN')")
 public class AdminAuditLogController {
 
+    private static final int GZIP_BUFFER_SIZE = 8192;
+
     private final AuditLogService auditLogService;
+    private final AuditLogExportService auditLogExportService;
 
-    public AdminAuditLogController(AuditLogService auditLogService) {
+    public AdminAuditLogController(AuditLogService auditLogService, AuditLogExportService auditLogExportService) {
         this.auditLogService = auditLogService;
+        this.auditLogExportService = auditLogExportService;
     }
 
     /**
@@ -44,11 +61,15 @@ public class AdminAuditLogController {
 
     /**
      * Returns paginated audit logs ordered by timestamp DESC.
-     * Optional filters: action (exact), userEmail (substring on actor), dateFrom, dateTo (ISO date or date-time).
+     * Optional filters: action (exact, case-insensitive), userEmail (case-insensitive substring of actor;
+     * prefix of actor with {@code cursor}), dateFrom, dateTo (ISO date or date-time).
+     * With {@code cursor} (empty for the first page) uses keyset pagination: response
+     * {@link AuditLogCursorPageResponse} with the {@code next} cursor and no COUNT query; recommended for deep history.
      */
     @GetMapping
-    public ResponseEntity<PagedAuditLogsResponse> getAuditLogs(
+    public ResponseEntity<?> getAuditLogs(
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String action,
             @RequestParam(required = false) String userEmail,
             @RequestParam(required = false) String dateFrom,
@@ -56,6 +77,15 @@ public class AdminAuditLogController {
         int safePage = Math.max(0, page);
         Instant from = parseDateParam(dateFrom, true);
         Instant to = parseDateParam(dateTo, false);
+        if (cursor != null) {
+            KeysetCursor after;
+            try {
+                after = cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ApiErrorUtil.badRequest("Cursore non valido.");
+            }
+            return ResponseEntity.ok(auditLogService.getAuditLogsAfter(after, action, userEmail, from, to));
+        }
         Page<AuditLogResponse> logs = auditLogService.getAuditLogs(safePage, action, userEmail, from, to);
         PagedAuditLogsResponse body = PagedAuditLogsResponse.builder()
                 .content(logs.getContent())
@@ -69,6 +99,97 @@ public class AdminAuditLogController {
         return ResponseEntity.ok(body);
     }
 
+    /**
+     * Streams every audit log matching the filters (same as {@link #getAuditLogs}) as CSV or NDJSON, newest first.
+     * Compressed with gzip when {@code Accept-Encoding} accepts it (explicitly or via {@code *}, with q &gt; 0).
+     * Unknown format yields 400 via {@link UnsupportedExportFormatException}.
+     * The export itself is recorded as an EXPORT_AUDIT_LOGS audit event.
+     */
+    @GetMapping("/export")
+    public void exportAuditLogs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String userEmail,
+            @RequestParam(required = false) String dateFrom,
+            @RequestParam(required = false) String dateTo,
+            @AuthenticationPrincipal String username,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        AuditLogExportService.Format exportFormat;
+        try {
+            exportFormat = AuditLogExportService.Format.parse(format);
+        } catch (IllegalArgumentException e) {
+            throw new UnsupportedExportFormatException();
+        }
+        Instant from = parseDateParam(dateFrom, true);
+        Instant to = parseDateParam(dateTo, false);
+        auditLogService.log(username, "EXPORT_AUDIT_LOGS", "AUDIT_LOG", null, "format=" + exportFormat.extension(),
+                resolveIp(request), request.getHeader("User-Agent"));
+
+        response.setContentType(exportFormat.mediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"audit-logs." + exportFormat.extension() + "\"");
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            try (GZIPOutputStream gzip = new GZIPOutputStream(response.getOutputStream(), GZIP_BUFFER_SIZE)) {
+                auditLogExportService.export(exportFormat, action, userEmail, from, to, gzip);
+            }
+        } else {
+            auditLogExportService.export(exportFormat, action, userEmail, from, to, response.getOutputStream());
+        }
+    }
+
+    /**
+     * True when the {@code Accept-Encoding} value accepts gzip: an explicit {@code gzip} (or {@code x-gzip})
+     * coding wins over {@code *}; either one counts only with q &gt; 0 ({@code gzip;q=0} is a refusal).
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return false;
+        }
+        Double gzipQ = null;
+        Double wildcardQ = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = qValue(parts);
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQ = gzipQ == null ? q : Math.max(gzipQ, q);
+            } else if (coding.equals("*")) {
+                wildcardQ = q;
+            }
+        }
+        if (gzipQ != null) {
+            return gzipQ > 0;
+        }
+        return wildcardQ != null && wildcardQ > 0;
+    }
+
+    /** Weight of an Accept-Encoding element; 1 when missing, 0 when malformed. */
+    private static double qValue(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String param = parts[i].trim();
+            if (param.length() > 2 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q') && param.charAt(1) == '=') {
+                try {
+                    return Double.parseDouble(param.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static String resolveIp(HttpServletRequest request) {
+        String forwarded = request.getHeader("X-Forwarded-For");
+        if (forwarded != null && !forwarded.isBlank()) {
+            return forwarded.split(",")[0].trim();
+        }
+        return request.getRemoteAddr();
+    }
+
     /** Parse date string (YYYY-MM-DD or ISO-8601) to start-of-day or end-of-day Instant. Returns null on invalid. */
     private static Instant parseDateParam(String value, boolean startOfDay) {
         if (value == null || value.isBlank()) return null;
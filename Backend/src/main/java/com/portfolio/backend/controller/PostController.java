@@ -1,5 +1,6 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.controller.dto.BulkImportResponse;
 import com.portfolio.backend.controller.dto.CreatePostRequest;
 import com.portfolio.backend.controller.dto.CreatePostTranslationRequest;
 import com.portfolio.backend.controller.dto.PatchPostRequest;
@@ -7,20 +8,29 @@ import com.portfolio.backend.controller.dto.PatchTranslationRequest;
 import com.portfolio.backend.controller.dto.UpdatePostRequest;
 import com.portfolio.backend.entity.Post;
 import com.portfolio.backend.entity.PostTranslation;
+import com.portfolio.backend.service.PostBulkService;
 import com.portfolio.backend.service.PostService;
+import com.portfolio.backend.service.TranslationSlugAllocator;
+import com.portfolio.backend.service.TranslationSlugAllocator.SlugRequest;
 import com.portfolio.backend.util.ApiErrorUtil;
 import com.portfolio.backend.util.SlugUtil;
 import com.portfolio.backend.util.XssSanitizer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -32,10 +42,18 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/admin/posts")
 public class PostController {
 
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
     private final PostService postService;
+    private final TranslationSlugAllocator slugAllocator;
+    private final PostBulkService postBulkService;
 
-    public PostController(PostService postService) {
+    public PostController(PostService postService,
+                          TranslationSlugAllocator slugAllocator,
+                          PostBulkService postBulkService) {
         this.postService = postService;
+        this.slugAllocator = slugAllocator;
+        this.postBulkService = postBulkService;
     }
 
     @GetMapping
@@ -48,6 +66,26 @@ public class PostController {
         return ResponseEntity.ok(page);
     }
 
+    /**
+     * Export bulk di tutti i post con traduzioni in NDJSON (un post per riga), scritto in streaming.
+     */
+    @GetMapping("/bulk")
+    public void exportBulk(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON_MEDIA_TYPE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson\"");
+        postBulkService.exportNdjson(response.getOutputStream());
+    }
+
+    /**
+     * Import bulk NDJSON (stesso formato dell'export). Le righe non valide o con slug già in uso vengono
+     * scartate e riportate nella risposta; le altre vengono inserite a blocchi con batch JDBC.
+     */
+    @PostMapping(value = "/bulk", consumes = { NDJSON_MEDIA_TYPE, MediaType.APPLICATION_JSON_VALUE, MediaType.TEXT_PLAIN_VALUE })
+    public ResponseEntity<BulkImportResponse> importBulk(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(postBulkService.importNdjson(request.getInputStream()));
+    }
+
     // Dettaglio post (slug, status, traduzioni)
     @GetMapping("/{id}")
     public ResponseEntity<?> getById(@PathVariable String id) {
@@ -83,10 +121,15 @@ public class PostController {
         post.setStatus(status);
         Post saved = postService.save(post);
         if (hasTranslations) {
+            List<SlugRequest> slugRequests = new ArrayList<>();
             for (CreatePostTranslationRequest tr : request.getTranslations()) {
-                String trSlug = resolveTranslationSlug(tr.getSlug(), tr.getTitle());
-                if (trSlug.isBlank()) trSlug = tr.getLocale();
-                trSlug = ensureTranslationSlugUnique(trSlug, tr.getLocale());
+                slugRequests.add(new SlugRequest(resolveTranslationSlugOrLocale(tr.getSlug(), tr.getTitle(), tr.getLocale()),
+                        tr.getLocale(), null));
+            }
+            List<String> trSlugs = slugAllocator.allocate(slugRequests);
+            for (int i = 0; i < request.getTranslations().size(); i++) {
+                CreatePostTranslationRequest tr = request.getTranslations().get(i);
+                String trSlug = trSlugs.get(i);
                 PostTranslation t = new PostTranslation();
                 t.setPostId(saved.getId());
                 t.setPost(saved);
@@ -145,24 +188,31 @@ public class PostController {
                 }
             }
             toRemove.forEach(toUpdate.getTranslations()::remove);
-            // Per ogni traduzione nella request: aggiorna se esiste (stesso locale), altrimenti crea nuova
+            Map<String, PostTranslation> existingByLocale = toUpdate.getTranslations().stream()
+                    .collect(Collectors.toMap(PostTranslation::getLocale, t -> t, (a, b) -> a));
+            // Slug di tutte le traduzioni della request assegnati in un solo passaggio
+            List<SlugRequest> slugRequests = new ArrayList<>();
             for (CreatePostTranslationRequest tr : request.getTranslations()) {
-                String tSlug = resolveTranslationSlug(tr.getSlug(), tr.getTitle());
-                if (tSlug.isBlank()) tSlug = tr.getLocale();
-                Optional<PostTranslation> existingTr = toUpdate.getTranslations().stream()
-                        .filter(t -> tr.getLocale().equals(t.getLocale()))
-                        .findFirst();
-                if (existingTr.isPresent()) {
-                    PostTranslation t = existingTr.get();
-                    t.setSlug(ensureTranslationSlugUnique(tSlug, tr.getLocale(), t.getId()));
+                PostTranslation current = existingByLocale.get(tr.getLocale());
+                slugRequests.add(new SlugRequest(resolveTranslationSlugOrLocale(tr.getSlug(), tr.getTitle(), tr.getLocale()),
+                        tr.getLocale(), current != null ? current.getId() : null));
+            }
+            List<String> tSlugs = slugAllocator.allocate(slugRequests);
+            // Per ogni traduzione nella request: aggiorna se esiste (stesso locale), altrimenti crea nuova
+            for (int i = 0; i < request.getTranslations().size(); i++) {
+                CreatePostTranslationRequest tr = request.getTranslations().get(i);
+                String tSlug = tSlugs.get(i);
+                PostTranslation t = existingByLocale.get(tr.getLocale());
+                if (t != null) {
+                    t.setSlug(tSlug);
                     t.setTitle(XssSanitizer.stripHtml(tr.getTitle()));
                     t.setContent(XssSanitizer.stripHtml(tr.getContent()));
                 } else {
-                    PostTranslation t = new PostTranslation();
+                    t = new PostTranslation();
                     t.setPostId(id);
                     t.setPost(toUpdate);
                     t.setLocale(tr.getLocale());
-                    t.setSlug(ensureTranslationSlugUnique(tSlug, tr.getLocale()));
+                    t.setSlug(tSlug);
                     t.setTitle(XssSanitizer.stripHtml(tr.getTitle()));
                     t.setContent(XssSanitizer.stripHtml(tr.getContent()));
                     toUpdate.getTranslations().add(t);
@@ -233,9 +283,8 @@ public class PostController {
         }
         PostTranslation t = opt.get();
         String locale = t.getLocale();
-        String trSlug = resolveTranslationSlug(request.getSlug(), request.getTitle());
-        if (trSlug.isBlank()) trSlug = locale;
-        trSlug = ensureTranslationSlugUnique(trSlug, locale, translationId);
+        String trSlug = slugAllocator.allocate(resolveTranslationSlugOrLocale(request.getSlug(), request.getTitle(), locale),
+                locale, translationId);
         t.setSlug(trSlug);
         t.setTitle(XssSanitizer.stripHtml(request.getTitle()));
         t.setContent(XssSanitizer.stripHtml(request.getContent()));
@@ -259,22 +308,9 @@ public class PostController {
         return SlugUtil.slugify(title);
     }
 
-    /** Se lo slug è già usato (da un'altra traduzione), aggiunge "-" + locale (e eventualmente suffisso) fino a univocità. */
-    private String ensureTranslationSlugUnique(String slug, String locale) {
-        return ensureTranslationSlugUnique(slug, locale, null);
-    }
-
-    /** Come sopra, ma esclude la traduzione con id {@code excludeTranslationId} (per aggiornamento senza cambiare slug). */
-    private String ensureTranslationSlugUnique(String slug, String locale, String excludeTranslationId) {
-        String candidate = slug;
-        int n = 0;
-        while (true) {
-            Optional<PostTranslation> opt = postService.findTranslationBySlug(candidate);
-            if (opt.isEmpty() || (excludeTranslationId != null && opt.get().getId().equals(excludeTranslationId))) {
-                return candidate;
-            }
-            candidate = n == 0 ? slug + "-" + locale : slug + "-" + locale + "-" + n;
-            n++;
-        }
+    /** Come {@link #resolveTranslationSlug}, con il locale come ripiego se dal titolo non si ricava nessuno slug. */
+    private static String resolveTranslationSlugOrLocale(String requestSlug, String title, String locale) {
+        String slug = resolveTranslationSlug(requestSlug, title);
+        return slug.isBlank() ? locale : slug;
     }
 }
@@ -1,18 +1,29 @@
 package com.portfolio.backend.controller;
 
+import com.portfolio.backend.controller.dto.PostCursorPageResponse;
 import com.portfolio.backend.controller.dto.PostPublicResponse;
-import com.portfolio.backend.entity.Post;
 import com.portfolio.backend.service.PostService;
+import com.portfolio.backend.service.PublicPostDetailCache;
+import com.portfolio.backend.service.PublishedPostFeedWriter;
 import com.portfolio.backend.util.ApiErrorUtil;
+import com.portfolio.backend.util.KeysetCursor;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -25,17 +36,29 @@ public class PublicPostController {
 
     private static final Set<String> ALLOWED_LOCALES = Set.of("en", "it", "es");
     private static final int PAGE_SIZE = 10;
+    private static final int MAX_SEARCH_RESULTS = 50;
 
     private final PostService postService;
+    private final PublicPostDetailCache publicPostDetailCache;
+    private final PublishedPostFeedWriter publishedPostFeedWriter;
 
-    public PublicPostController(PostService postService) {
+    public PublicPostController(PostService postService,
+                                PublicPostDetailCache publicPostDetailCache,
+                                PublishedPostFeedWriter publishedPostFeedWriter) {
         this.postService = postService;
+        this.publicPostDetailCache = publicPostDetailCache;
+        this.publishedPostFeedWriter = publishedPostFeedWriter;
     }
 
+    /**
+     * Tutti i post pubblicati con le traduzioni, scritti in streaming (array JSON) direttamente sulla risposta:
+     * la memoria usata non dipende dal numero di post né dalla dimensione dei contenuti.
+     */
     @GetMapping
-    public ResponseEntity<List<Post>> list() {
-        List<Post> posts = postService.findAllPublished();
-        return ResponseEntity.ok(posts);
+    public void list(HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        publishedPostFeedWriter.write(response.getOutputStream());
     }
 
     /**
@@ -45,11 +68,16 @@ public class PublicPostController {
      *
      * Questo endpoint NON gestisce più la ricerca per slug; uno specifico endpoint di dettaglio
      * verrà introdotto separatamente.
+     *
+     * Con il parametro {@code cursor} (anche vuoto, per la prima pagina) usa la paginazione keyset:
+     * la risposta contiene {@code next} da passare come cursor alla richiesta successiva e nessun totale.
+     * Senza cursor la risposta resta la {@link Page} con offset di sempre.
      */
     @GetMapping("/{locale}")
     public ResponseEntity<?> getByLocale(
             @PathVariable String locale,
             @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(required = false) String title,
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
@@ -59,6 +87,22 @@ public class PublicPostController {
         if (!ALLOWED_LOCALES.contains(normalizedLocale)) {
             return ApiErrorUtil.badRequest("Locale non supportato: " + locale + ". Valori ammessi: it, en, es.");
         }
+        if (cursor != null) {
+            KeysetCursor after;
+            try {
+                after = cursor.isBlank() ? null : KeysetCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ApiErrorUtil.badRequest("Cursore non valido.");
+            }
+            PostCursorPageResponse slice = postService.findPublishedSliceByLocale(
+                    normalizedLocale,
+                    after,
+                    PAGE_SIZE,
+                    title,
+                    createdFrom,
+                    createdTo);
+            return ResponseEntity.ok(slice);
+        }
         if (page < 0) {
             page = 0;
         }
@@ -72,21 +116,56 @@ public class PublicPostController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Ricerca full-text sui post pubblicati del locale (titolo e contenuto, con stemming e ranking).
+     * Esempio: GET /api/posts/it/search?q=spring+boot&limit=10
+     */
+    @GetMapping("/{locale}/search")
+    public ResponseEntity<?> search(
+            @PathVariable String locale,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        String normalizedLocale = locale == null ? "" : locale.trim().toLowerCase();
+        if (!ALLOWED_LOCALES.contains(normalizedLocale)) {
+            return ApiErrorUtil.badRequest("Locale non supportato: " + locale + ". Valori ammessi: it, en, es.");
+        }
+        int safeLimit = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
+        List<PostPublicResponse> results = postService.searchPublished(normalizedLocale, q, safeLimit);
+        return ResponseEntity.ok(results);
+    }
+
     /**
      * Dettaglio di un singolo post pubblicato per locale + slug della traduzione.
      * Esempio: GET /api/posts/it/primo-articolo
+     * Il JSON è servito dalla {@link PublicPostDetailCache} già serializzato, con ETag forte:
+     * se If-None-Match corrisponde risponde 304 senza body.
      */
     @GetMapping("/{locale}/{slug}")
     public ResponseEntity<?> getByLocaleAndSlug(
             @PathVariable String locale,
-            @PathVariable String slug) {
+            @PathVariable String slug,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         String normalizedLocale = locale == null ? "" : locale.trim().toLowerCase();
         if (!ALLOWED_LOCALES.contains(normalizedLocale)) {
             return ApiErrorUtil.badRequest("Locale non supportato: " + locale + ". Valori ammessi: it, en, es.");
         }
-        return postService.findPublishedDetailByLocaleAndSlug(normalizedLocale, slug)
-                .<ResponseEntity<?>>map(ResponseEntity::ok)
-                .orElseGet(() -> ApiErrorUtil.notFound(
-                        "Post non trovato per locale '" + normalizedLocale + "' e slug '" + slug + "'"));
+        Optional<PublicPostDetailCache.CachedJson> cached = publicPostDetailCache.getOrLoad(normalizedLocale, slug);
+        if (cached.isEmpty()) {
+            return ApiErrorUtil.notFound(
+                    "Post non trovato per locale '" + normalizedLocale + "' e slug '" + slug + "'");
+        }
+        PublicPostDetailCache.CachedJson json = cached.get();
+        // no-cache: il client può conservare la risposta ma deve rivalidarla con If-None-Match
+        if (json.matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(json.etag())
+                    .cacheControl(CacheControl.noCache())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(json.etag())
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(json.body());
     }
 }
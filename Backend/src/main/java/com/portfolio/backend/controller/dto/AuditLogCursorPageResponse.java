@@ -0,0 +1,28 @@
+package com.portfolio.backend.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * DTO for cursor (keyset) pagination of audit logs. {@code next} is null when there are no further entries.
+ * {@code total} comes from maintained counters: exact when only the action filter is set
+ * ({@code totalExact = true}), otherwise an upper bound.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AuditLogCursorPageResponse {
+
+    private List<AuditLogResponse> content;
+    private int size;
+    private String next;
+    private long total;
+    private boolean totalExact;
+}
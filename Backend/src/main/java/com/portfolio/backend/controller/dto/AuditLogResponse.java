@@ -28,4 +28,8 @@ public class AuditLogResponse {
     private String ipAddress;
     private String userAgent;
     private Instant timestamp;
+    /** Eventi identici accorpati (1 = evento singolo). */
+    private int occurrenceCount;
+    /** Ultimo evento accorpato; null per eventi singoli. */
+    private Instant lastSeenAt;
 }
@@ -0,0 +1,37 @@
+package com.portfolio.backend.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Esito dell'import bulk NDJSON dei post: righe importate, scartate e motivo per ogni riga scartata.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkImportResponse {
+
+    private boolean success;
+    private int imported;
+    private int skipped;
+    private List<LineError> errors;
+
+    /**
+     * Riga scartata: numero di riga (1-based) nel body NDJSON e motivo.
+     */
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class LineError {
+        private int line;
+        private String message;
+    }
+}
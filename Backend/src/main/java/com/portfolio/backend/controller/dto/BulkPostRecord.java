@@ -0,0 +1,37 @@
+package com.portfolio.backend.controller.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Una riga NDJSON di import/export bulk dei post (/api/admin/posts/bulk): post con tutte le traduzioni.
+ * Gli id non vengono esportati: all'import il post riceve nuovi id, mentre slug e createdAt vengono mantenuti.
+ */
+@Getter
+@Setter
+public class BulkPostRecord {
+
+    /** Opzionale: se assente e ci sono traduzioni, viene generato dal titolo della prima. */
+    @Size(max = 255)
+    @Pattern(regexp = "^[a-zA-Z\\-]*$", message = "Lo slug non deve contenere numeri; solo lettere e trattini.")
+    private String slug;
+
+    @NotBlank(message = "Lo status è obbligatorio")
+    @Pattern(regexp = "^(?i)(published|draft|archived)$", message = "Status deve essere published, draft o archived")
+    @Size(max = 20)
+    private String status = "draft";
+
+    /** Opzionale: se assente viene usata la data di import. */
+    private Instant createdAt;
+
+    @Valid
+    private List<CreatePostTranslationRequest> translations = new ArrayList<>();
+}
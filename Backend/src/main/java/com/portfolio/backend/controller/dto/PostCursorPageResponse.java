@@ -0,0 +1,25 @@
+package com.portfolio.backend.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Public response for cursor (keyset) pagination of published posts.
+ * No total count is computed; {@code next} is null when there are no further posts.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PostCursorPageResponse {
+
+    private List<PostPublicResponse> content;
+    private int size;
+    private String next;
+}
@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
 
 import org.hibernate.annotations.GenericGenerator;
@@ -17,9 +18,9 @@ import org.hibernate.annotations.GenericGenerator;
  */
 @Entity
 @Table(name = "audit_logs", indexes = {
-    @Index(name = "idx_audit_logs_created_at", columnList = "created_at"),
-    @Index(name = "idx_audit_logs_actor", columnList = "actor"),
-    @Index(name = "idx_audit_logs_action", columnList = "action")
+    @Index(name = "idx_audit_logs_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_audit_logs_action_created_at_id", columnList = "action, created_at, id"),
+    @Index(name = "idx_audit_logs_actor_normalized_created_at_id", columnList = "actor_normalized, created_at, id")
 })
 @Getter
 @Setter
@@ -40,7 +41,14 @@ public class AuditLog {
     private String actor;
 
     /**
-     * Tipo di azione (es. LOGIN_SUCCESS, LOGIN_FAILURE, VIEW_MESSAGES, VIEW_MESSAGE).
+     * Actor in minuscolo, per il filtro per prefisso con indice (impostato al salvataggio).
+     */
+    @Size(max = 255)
+    @Column(name = "actor_normalized", nullable = false, length = 255)
+    private String actorNormalized;
+
+    /**
+     * Tipo di azione, sempre in maiuscolo (es. LOGIN_SUCCESS, LOGIN_FAILURE, VIEW_MESSAGES, VIEW_MESSAGE).
      */
     @NotBlank
     @Size(max = 100)
@@ -81,13 +89,33 @@ public class AuditLog {
     @Column(name = "user_agent", length = 64)
     private String userAgent;
 
+    /**
+     * Primo (o unico) istante dell'evento. Per eventi accorpati vedi occurrenceCount e lastSeenAt.
+     */
     @Column(name = "created_at", nullable = false, updatable = false)
     private Instant createdAt;
 
+    /**
+     * Numero di eventi identici accorpati in questa riga (1 = evento singolo), vedi AuditLogCoalescer.
+     */
+    @Column(name = "occurrence_count", nullable = false)
+    private int occurrenceCount = 1;
+
+    /**
+     * Ultimo istante di un evento accorpato; null per eventi singoli.
+     */
+    @Column(name = "last_seen_at")
+    private Instant lastSeenAt;
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
             createdAt = Instant.now();
         }
+        // Valori normalizzati: i filtri confrontano le colonne direttamente, senza LOWER()/UPPER() che escludono gli indici
+        actorNormalized = actor != null ? actor.toLowerCase(Locale.ROOT) : "";
+        if (action != null) {
+            action = action.toUpperCase(Locale.ROOT);
+        }
     }
 }
@@ -36,6 +36,9 @@ public class EmailJob {
     @Column(name = "locked_at_ms")
     private Long lockedAtMs;
 
+    @Column(name = "locked_by", length = 64)
+    private String lockedBy;
+
     @Column(name = "last_error", columnDefinition = "TEXT")
     private String lastError;
 
@@ -13,6 +13,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.GenericGenerator;
 
 @Entity
@@ -41,8 +42,10 @@ public class Post {
     @Column(nullable = false, length = 20)
     private String status = "draft";
 
+    // Liste di post (es. pagina admin): le traduzioni dei post già caricati arrivano con una sola SELECT ... IN
     @JsonManagedReference
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<PostTranslation> translations = new ArrayList<>();
 
     @PrePersist
@@ -3,6 +3,7 @@ package com.portfolio.backend.exception;
 import com.portfolio.backend.controller.dto.ApiError;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -72,6 +73,15 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
     }
 
+    /**
+     * Formato di export non supportato (400).
+     */
+    @ExceptionHandler(UnsupportedExportFormatException.class)
+    public ResponseEntity<ApiError> handleUnsupportedExportFormat(UnsupportedExportFormatException ex) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST.value(), "Formato non supportato: usa csv o ndjson.");
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(apiError);
+    }
+
     /**
      * Risorsa non trovata (404). Messaggio generico per non rivelare l'esistenza della risorsa.
      */
@@ -90,6 +100,18 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(apiError);
     }
 
+    /**
+     * Pool di verifica password saturo (burst di login): 503 con Retry-After, senza attendere.
+     */
+    @ExceptionHandler(PasswordVerificationBusyException.class)
+    public ResponseEntity<ApiError> handlePasswordVerificationBusy(PasswordVerificationBusyException ex) {
+        ApiError apiError = new ApiError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Troppi accessi in corso. Riprova tra qualche secondo.");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(apiError);
+    }
+
     /**
      * Accesso negato (403): utente autenticato ma senza permesso per la risorsa.
      */
@@ -0,0 +1,12 @@
+package com.portfolio.backend.exception;
+
+/**
+ * Thrown when the password hashing pool is saturated (queue full or wait timed out).
+ * Mapped to 503 with Retry-After so a login burst is rejected quickly instead of tying up request threads.
+ */
+public class PasswordVerificationBusyException extends RuntimeException {
+
+    public PasswordVerificationBusyException() {
+        super();
+    }
+}
@@ -0,0 +1,12 @@
+package com.portfolio.backend.exception;
+
+/**
+ * Thrown when an export is requested in a format other than the supported ones.
+ * Mapped to 400 by {@link GlobalExceptionHandler}, so streaming endpoints can stay {@code void}.
+ */
+public class UnsupportedExportFormatException extends RuntimeException {
+
+    public UnsupportedExportFormatException() {
+        super();
+    }
+}
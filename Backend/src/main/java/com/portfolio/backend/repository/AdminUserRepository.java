@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -54,6 +55,21 @@ public interface AdminUserRepository extends JpaRepository<AdminUser, String> {
     @Query(value = "UPDATE admin_users SET token_version = token_version + 1 WHERE username = :username", nativeQuery = true)
     int incrementTokenVersionByUsername(@Param("username") String username);
 
+    /**
+     * Sostituisce l'hash della password senza toccare token_version (rehash al login con nuovi parametri Argon2).
+     * Transazione propria: chiamato durante il login, fuori da altre transazioni.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE admin_users SET password_hash = :passwordHash WHERE username = :username", nativeQuery = true)
+    int updatePasswordHashByUsername(@Param("username") String username, @Param("passwordHash") String passwordHash);
+
+    /**
+     * token_version dell'admin per username (query nativa, solo la colonna usata dalla verifica dei JWT).
+     */
+    @Query(value = "SELECT token_version FROM admin_users WHERE username = :username", nativeQuery = true)
+    Optional<Integer> findTokenVersionByUsername(@Param("username") String username);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
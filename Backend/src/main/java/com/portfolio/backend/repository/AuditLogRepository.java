@@ -20,6 +20,18 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, String>, Jpa
      */
     Page<AuditLog> findAllByOrderByCreatedAtDesc(Pageable pageable);
 
+    /**
+     * Total audit logs, from the trigger-maintained audit_log_counts table (migration V6) instead of COUNT(*).
+     */
+    @Query(value = "SELECT COALESCE(SUM(total), 0) FROM audit_log_counts", nativeQuery = true)
+    long countAllFromCounters();
+
+    /**
+     * Audit logs with the given (upper-case) action, from audit_log_counts.
+     */
+    @Query(value = "SELECT COALESCE(SUM(total), 0) FROM audit_log_counts WHERE action = :action", nativeQuery = true)
+    long countByActionFromCounters(@Param("action") String action);
+
     /**
      * Returns only IDs of audit logs with {@code createdAt} strictly before the given cutoff.
      * Used for batch deletion without loading full entities.
@@ -1,34 +1,71 @@
 package com.portfolio.backend.repository;
 
 import com.portfolio.backend.entity.AuditLog;
+import com.portfolio.backend.util.KeysetCursor;
 import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 /**
- * JPA Specifications for filtering audit logs (action, actor, date range).
+ * JPA Specifications for filtering audit logs (action, actor, date range) and keyset seeking.
+ * Predicates compare the stored normalized columns directly (action upper-case, actor_normalized lower-case),
+ * so the composite indexes (filter, created_at, id) from migration V6 can be used.
  */
 public final class AuditLogSpecification {
 
+    /** Browsing order: newest first, id as tie-break (matches the composite indexes and {@link KeysetCursor}). */
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    private static final char LIKE_ESCAPE = '\\';
+
     private AuditLogSpecification() {
     }
 
+    /**
+     * Filters for offset paging and export: the actor matches as a substring, like the original API.
+     *
+     * @param action   exact action, case-insensitive
+     * @param actor    part of the actor, case-insensitive (e.g. a fragment of a username or email)
+     * @param dateFrom inclusive lower bound on createdAt
+     * @param dateTo   inclusive upper bound on createdAt
+     */
     public static Specification<AuditLog> withFilters(
             String action,
             String actor,
             Instant dateFrom,
             Instant dateTo) {
+        return filters(action, hasText(actor) ? "%" + escapeLike(normalizeActor(actor)) + "%" : null, dateFrom, dateTo);
+    }
+
+    /**
+     * Filters for keyset browsing: the actor matches as a prefix, so the (actor_normalized, created_at, id)
+     * index can be range-scanned.
+     *
+     * @param actor actor prefix, case-insensitive (e.g. the start of a username or email)
+     * @see #withFilters(String, String, Instant, Instant)
+     */
+    public static Specification<AuditLog> withActorPrefixFilters(
+            String action,
+            String actor,
+            Instant dateFrom,
+            Instant dateTo) {
+        return filters(action, hasText(actor) ? escapeLike(normalizeActor(actor)) + "%" : null, dateFrom, dateTo);
+    }
+
+    private static Specification<AuditLog> filters(String action, String actorPattern, Instant dateFrom, Instant dateTo) {
         return (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
-            if (action != null && !action.isBlank()) {
-                predicates.add(cb.equal(cb.upper(root.get("action")), action.trim().toUpperCase()));
+            if (hasText(action)) {
+                predicates.add(cb.equal(root.get("action"), normalizeAction(action)));
             }
-            if (actor != null && !actor.isBlank()) {
-                String pattern = "%" + actor.trim().toLowerCase() + "%";
-                predicates.add(cb.like(cb.lower(root.get("actor")), pattern));
+            if (actorPattern != null) {
+                // Con un ESCAPE ASCII sia SQLite sia PostgreSQL usano ancora l'indice per i pattern 'prefisso%'
+                predicates.add(cb.like(root.get("actorNormalized"), actorPattern, LIKE_ESCAPE));
             }
             if (dateFrom != null) {
                 predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), dateFrom));
@@ -36,8 +73,52 @@ public final class AuditLogSpecification {
             if (dateTo != null) {
                 predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), dateTo));
             }
-            query.orderBy(cb.desc(root.get("createdAt")));
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Rows after the cursor in {@link #NEWEST_FIRST} order; no restriction when the cursor is null (first page).
+     */
+    public static Specification<AuditLog> after(KeysetCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.lessThan(root.get("createdAt"), cursor.createdAt()),
+                    cb.and(
+                            cb.equal(root.get("createdAt"), cursor.createdAt()),
+                            cb.lessThan(root.get("id"), cursor.id())));
+        };
+    }
+
+    /** True when only the action filter (or none) is set: totals can then come from audit_log_counts. */
+    public static boolean isCountableByAction(String actor, Instant dateFrom, Instant dateTo) {
+        return !hasText(actor) && dateFrom == null && dateTo == null;
+    }
+
+    /** Escapes the LIKE wildcards ({@code %}, {@code _}) and the escape character itself, for use with {@link #LIKE_ESCAPE}. */
+    static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+
+    private static String normalizeActor(String actor) {
+        return actor.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static String normalizeAction(String action) {
+        return action.trim().toUpperCase(Locale.ROOT);
+    }
+
+    public static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
 }
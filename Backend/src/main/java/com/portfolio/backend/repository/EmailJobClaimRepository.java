@@ -0,0 +1,86 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.EmailJob;
+import com.portfolio.backend.entity.EmailJobStatus;
+import com.portfolio.backend.entity.EmailJobType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Presa in carico atomica dei job di email_jobs: una sola istruzione sceglie i job PENDING scaduti,
+ * li porta a IN_PROGRESS con il lease token del chiamante e li restituisce ({@code UPDATE … RETURNING}).
+ * <p>
+ * Su PostgreSQL la sottoquery usa {@code FOR UPDATE SKIP LOCKED}: più istanze possono prendere lotti in parallelo
+ * senza attendersi e senza mai prendere lo stesso job. SQLite ammette un solo writer alla volta sul database,
+ * quindi la stessa UPDATE (senza clausola di lock, non supportata) è già eseguita in modo esclusivo.
+ */
+@Repository
+public class EmailJobClaimRepository {
+
+    private static final String CLAIM = """
+            UPDATE email_jobs
+            SET status = :inProgress, locked_at_ms = :now, locked_by = :leaseToken, updated_at_ms = :now
+            WHERE id IN (
+              SELECT id FROM email_jobs
+              WHERE status = :pending AND next_attempt_at_ms <= :now
+              ORDER BY created_at_ms
+              LIMIT :limit%s
+            )
+            RETURNING id, type, status, contact_id, attempts, next_attempt_at_ms, locked_at_ms, locked_by,
+                      last_error, created_at_ms, updated_at_ms
+            """;
+
+    private static final RowMapper<EmailJob> EMAIL_JOB_ROW_MAPPER = (rs, rowNum) -> {
+        EmailJob job = new EmailJob();
+        job.setId(rs.getString("id"));
+        job.setType(EmailJobType.valueOf(rs.getString("type")));
+        job.setStatus(EmailJobStatus.valueOf(rs.getString("status")));
+        job.setContactId(rs.getString("contact_id"));
+        job.setAttempts(rs.getInt("attempts"));
+        job.setNextAttemptAtMs(rs.getLong("next_attempt_at_ms"));
+        long lockedAtMs = rs.getLong("locked_at_ms");
+        job.setLockedAtMs(rs.wasNull() ? null : lockedAtMs);
+        job.setLockedBy(rs.getString("locked_by"));
+        job.setLastError(rs.getString("last_error"));
+        job.setCreatedAtMs(rs.getLong("created_at_ms"));
+        job.setUpdatedAtMs(rs.getLong("updated_at_ms"));
+        return job;
+    };
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String claimSql;
+
+    public EmailJobClaimRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                   @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        boolean postgres = datasourceUrl != null && datasourceUrl.startsWith("jdbc:postgresql:");
+        this.claimSql = CLAIM.formatted(postgres ? " FOR UPDATE SKIP LOCKED" : "");
+    }
+
+    /**
+     * Prende in carico fino a {@code limit} job PENDING con next_attempt_at_ms ≤ {@code nowMs}, i più vecchi prima.
+     * Istruzione singola in autocommit: non serve una transazione del chiamante.
+     *
+     * @param leaseToken identifica questa presa in carico (locked_by); gli aggiornamenti successivi del job
+     *                   possono verificarlo per non toccare un job rilasciato e ripreso da un altro worker
+     * @return job presi in carico (entity non gestite dal persistence context), ordinati per created_at_ms
+     */
+    public List<EmailJob> claimDue(long nowMs, int limit, String leaseToken) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("inProgress", EmailJobStatus.IN_PROGRESS.name())
+                .addValue("pending", EmailJobStatus.PENDING.name())
+                .addValue("now", nowMs)
+                .addValue("leaseToken", leaseToken)
+                .addValue("limit", limit);
+        List<EmailJob> jobs = jdbcTemplate.query(claimSql, params, EMAIL_JOB_ROW_MAPPER);
+        // RETURNING non garantisce l'ordine della sottoquery
+        jobs.sort(Comparator.comparingLong(EmailJob::getCreatedAtMs));
+        return jobs;
+    }
+}
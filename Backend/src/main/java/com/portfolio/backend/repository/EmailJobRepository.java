@@ -2,25 +2,108 @@ package com.portfolio.backend.repository;
 
 import com.portfolio.backend.entity.EmailJob;
 import com.portfolio.backend.entity.EmailJobStatus;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
+/**
+ * Job della coda email. La presa in carico è in {@link EmailJobClaimRepository}; qui le altre transizioni di stato,
+ * ognuna una sola UPDATE (i callback @PreUpdate non scattano: updated_at_ms è impostato esplicitamente).
+ */
 @Repository
 public interface EmailJobRepository extends JpaRepository<EmailJob, String> {
 
-    Page<EmailJob> findByStatusAndNextAttemptAtMsLessThanEqualOrderByCreatedAtMsAsc(
-            EmailJobStatus status,
-            long nowMs,
-            Pageable pageable
-    );
+    /**
+     * Rimette PENDING tutti i job IN_PROGRESS presi in carico prima di {@code staleBeforeMs} (worker caduto o bloccato).
+     *
+     * @return job rilasciati
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE EmailJob j
+           SET j.status = com.portfolio.backend.entity.EmailJobStatus.PENDING,
+               j.lockedAtMs = null, j.lockedBy = null, j.updatedAtMs = :nowMs
+           WHERE j.status = com.portfolio.backend.entity.EmailJobStatus.IN_PROGRESS
+             AND j.lockedAtMs < :staleBeforeMs
+           """)
+    int releaseStaleLocks(@Param("staleBeforeMs") long staleBeforeMs, @Param("nowMs") long nowMs);
 
-    List<EmailJob> findByStatusAndLockedAtMsLessThan(
-            EmailJobStatus status,
-            long staleBeforeMs
-    );
-}
+    /**
+     * Chiude la presa in carico di un job: nuovo status (SENT, PENDING per un nuovo tentativo, FAILED), tentativi,
+     * prossimo tentativo e ultimo errore. Si applica solo se il job è ancora IN_PROGRESS con lo stesso lease token:
+     * un job rilasciato come stale e ripreso da un altro worker non viene toccato.
+     *
+     * @return 1 se aggiornato, 0 se la presa in carico non è più di questo worker
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+           UPDATE EmailJob j
+           SET j.status = :status, j.attempts = :attempts, j.nextAttemptAtMs = :nextAttemptAtMs,
+               j.lastError = :lastError, j.lockedAtMs = null, j.lockedBy = null, j.updatedAtMs = :nowMs
+           WHERE j.id = :id
+             AND j.status = com.portfolio.backend.entity.EmailJobStatus.IN_PROGRESS
+             AND j.lockedBy = :leaseToken
+           """)
+    int completeLease(@Param("id") String id,
+                      @Param("leaseToken") String leaseToken,
+                      @Param("status") EmailJobStatus status,
+                      @Param("attempts") int attempts,
+                      @Param("nextAttemptAtMs") long nextAttemptAtMs,
+                      @Param("lastError") String lastError,
+                      @Param("nowMs") long nowMs);
+
+    /**
+     * Id dei job conclusi (SENT o FAILED) con ultimo aggiornamento prima di {@code beforeMs}, dal più vecchio:
+     * un lotto di archiviazione.
+     */
+    @Query("""
+           SELECT j.id FROM EmailJob j
+           WHERE j.status IN (com.portfolio.backend.entity.EmailJobStatus.SENT,
+                              com.portfolio.backend.entity.EmailJobStatus.FAILED)
+             AND j.updatedAtMs < :beforeMs
+           ORDER BY j.updatedAtMs
+           """)
+    List<String> findFinishedIdsUpdatedBefore(@Param("beforeMs") long beforeMs, Pageable pageable);
+
+    /**
+     * Copia i job indicati in email_jobs_archive (migrazione V8), solo le colonne utili a posteriori.
+     * Idempotente: i job già archiviati vengono ignorati.
+     */
+    @Modifying
+    @Query(value = """
+           INSERT INTO email_jobs_archive (id, type, status, contact_id, attempts, last_error, created_at_ms, finished_at_ms)
+           SELECT id, type, status, contact_id, attempts, last_error, created_at_ms, updated_at_ms
+           FROM email_jobs
+           WHERE id IN (:ids) AND status IN ('SENT', 'FAILED')
+           ON CONFLICT (id) DO NOTHING
+           """, nativeQuery = true)
+    int copyFinishedToArchive(@Param("ids") Collection<String> ids);
 
+    /**
+     * Elimina dalla coda i job indicati se ancora conclusi (da chiamare nella stessa transazione della copia).
+     */
+    @Modifying
+    @Query("""
+           DELETE FROM EmailJob j
+           WHERE j.id IN :ids
+             AND j.status IN (com.portfolio.backend.entity.EmailJobStatus.SENT,
+                              com.portfolio.backend.entity.EmailJobStatus.FAILED)
+           """)
+    int deleteFinishedByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Elimina dall'archivio i job conclusi prima di {@code beforeMs}.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM email_jobs_archive WHERE finished_at_ms < :beforeMs", nativeQuery = true)
+    int deleteArchivedFinishedBefore(@Param("beforeMs") long beforeMs);
+}
@@ -1,17 +1,22 @@
 package com.portfolio.backend.repository;
 
 import com.portfolio.backend.entity.Post;
+import jakarta.persistence.QueryHint;
 import java.time.Instant;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostRepository extends JpaRepository<Post, String> {
@@ -28,6 +33,7 @@ public interface PostRepository extends JpaRepository<Post, String> {
 
     /**
      * Lista admin: ordinamento published prima, poi createdAt desc; filtri opzionali status e titolo (in qualsiasi traduzione).
+     * Nessuna COUNT: il totale arriva da {@link #countForAdmin}; le traduzioni vengono caricate in batch (@BatchSize su Post).
      */
     @Query("""
            SELECT p FROM Post p
@@ -37,13 +43,24 @@ public interface PostRepository extends JpaRepository<Post, String> {
              ))
            ORDER BY CASE WHEN p.status = 'published' THEN 0 ELSE 1 END, p.createdAt DESC
            """)
-    Page<Post> findForAdminOrderByPublishedFirst(
+    List<Post> findForAdminOrderByPublishedFirst(
             @Param("titleSearch") String titleSearch,
             @Param("statusFilter") String statusFilter,
             Pageable pageable);
 
-    @Query("SELECT p FROM Post p LEFT JOIN FETCH p.translations WHERE p.id IN :ids ORDER BY p.createdAt DESC")
-    List<Post> findByIdInOrderByCreatedAtDesc(@Param("ids") List<String> ids);
+    /**
+     * Totale per la lista admin, con gli stessi filtri di {@link #findForAdminOrderByPublishedFirst}.
+     */
+    @Query("""
+           SELECT COUNT(p) FROM Post p
+           WHERE (:statusFilter IS NULL OR :statusFilter = '' OR p.status = :statusFilter)
+             AND (:titleSearch = '' OR EXISTS (
+               SELECT 1 FROM PostTranslation t WHERE t.post = p AND LOWER(t.title) LIKE LOWER(CONCAT('%', :titleSearch, '%'))
+             ))
+           """)
+    long countForAdmin(
+            @Param("titleSearch") String titleSearch,
+            @Param("statusFilter") String statusFilter);
 
     Optional<Post> findBySlug(String slug);
 
@@ -58,6 +75,35 @@ public interface PostRepository extends JpaRepository<Post, String> {
     @Query("SELECT DISTINCT p FROM Post p LEFT JOIN FETCH p.translations WHERE p.status = :status ORDER BY p.createdAt DESC")
     List<Post> findByStatusWithTranslationsOrderByCreatedAtDesc(@Param("status") String status);
 
+    /**
+     * Righe (post, traduzione) dei post con lo status indicato, ordinate per post (createdAt desc, id) così che
+     * le traduzioni dello stesso post siano consecutive. Proiezione DTO + fetch size JDBC: lo Stream va consumato
+     * dentro una transazione e chiuso (try-with-resources).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+           SELECT new com.portfolio.backend.repository.PublishedPostRow(
+               p.id, p.slug, p.createdAt, p.status, t.id, t.locale, t.slug, t.title, t.content)
+           FROM Post p
+           LEFT JOIN p.translations t
+           WHERE p.status = :status
+           ORDER BY p.createdAt DESC, p.id, t.locale
+           """)
+    Stream<PublishedPostRow> streamRowsByStatus(@Param("status") String status);
+
+    /**
+     * Come {@link #streamRowsByStatus} ma per tutti i post, qualsiasi status (export bulk admin).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("""
+           SELECT new com.portfolio.backend.repository.PublishedPostRow(
+               p.id, p.slug, p.createdAt, p.status, t.id, t.locale, t.slug, t.title, t.content)
+           FROM Post p
+           LEFT JOIN p.translations t
+           ORDER BY p.createdAt DESC, p.id, t.locale
+           """)
+    Stream<PublishedPostRow> streamAllRows();
+
     /**
      * posts pubblicati per locale specifico, con filtri opzionali:
      * - titleSearch: contiene nel titolo della traduzione (case-insensitive)
@@ -84,8 +130,41 @@ public interface PostRepository extends JpaRepository<Post, String> {
             @Param("createdTo") Instant createdTo,
             Pageable pageable);
 
+    /**
+     * Variante keyset di {@link #findPublishedByLocaleWithFilters}: stessi filtri, ordinamento (createdAt, id) desc
+     * e seek dopo il cursore (afterCreatedAt, afterId). Nessuna COUNT: il Pageable serve solo come LIMIT.
+     * afterCreatedAt null = prima pagina.
+     */
+    @Query("""
+           SELECT DISTINCT p
+           FROM Post p
+           INNER JOIN p.translations t
+           WHERE p.status = :status
+             AND t.locale = :locale
+             AND (:titleSearch = '' OR LOWER(t.title) LIKE LOWER(CONCAT('%', :titleSearch, '%')))
+             AND (:createdFrom IS NULL OR p.createdAt >= :createdFrom)
+             AND (:createdTo IS NULL OR p.createdAt <= :createdTo)
+             AND (:afterCreatedAt IS NULL
+                  OR p.createdAt < :afterCreatedAt
+                  OR (p.createdAt = :afterCreatedAt AND p.id < :afterId))
+           ORDER BY p.createdAt DESC, p.id DESC
+           """)
+    List<Post> findPublishedByLocaleAfterCursor(
+            @Param("status") String status,
+            @Param("locale") String locale,
+            @Param("titleSearch") String titleSearch,
+            @Param("createdFrom") Instant createdFrom,
+            @Param("createdTo") Instant createdTo,
+            @Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") String afterId,
+            Pageable pageable);
+
     boolean existsBySlug(String slug);
 
+    /** Slug già usati tra quelli indicati (controllo univocità in blocco per l'import bulk). */
+    @Query("SELECT p.slug FROM Post p WHERE p.slug IN :slugs")
+    List<String> findExistingSlugs(@Param("slugs") Collection<String> slugs);
+
     boolean existsBySlugAndIdNot(String slug, String id);
 
     @Modifying(clearAutomatically = true)
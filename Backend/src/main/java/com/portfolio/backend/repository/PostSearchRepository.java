@@ -0,0 +1,83 @@
+package com.portfolio.backend.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Ricerca full-text sulle traduzioni dei post pubblicati, con SQL specifico per database:
+ * FTS5 + bm25 su SQLite (tabella post_translations_fts a contenuto esterno, rowid = post_translations.search_rowid),
+ * tsvector/GIN + ts_rank_cd su PostgreSQL (colonna post_translations.search_vector).
+ * Le strutture sono create dalle migrazioni in db/migration/{vendor}.
+ * Restituisce solo gli id delle traduzioni in ordine di rilevanza; il caricamento resta a JPA.
+ */
+@Repository
+public class PostSearchRepository {
+
+    /** Configurazioni di stemming PostgreSQL per locale (coerenti con la migrazione V3). */
+    private static final Map<String, String> PG_TEXT_SEARCH_CONFIG = Map.of(
+            "it", "italian",
+            "es", "spanish",
+            "en", "english");
+
+    private static final String SQLITE_SEARCH = """
+            SELECT t.id
+            FROM post_translations_fts f
+            JOIN post_translations t ON t.search_rowid = f.rowid
+            JOIN posts p ON p.id = t.post_id
+            WHERE post_translations_fts MATCH :query
+              AND t.locale = :locale
+              AND p.status = 'published'
+            ORDER BY bm25(post_translations_fts, 10.0, 1.0)
+            LIMIT :limit
+            """;
+
+    private static final String POSTGRES_SEARCH = """
+            SELECT t.id
+            FROM post_translations t
+            JOIN posts p ON p.id = t.post_id
+            WHERE t.search_vector @@ to_tsquery(CAST(:config AS regconfig), :query)
+              AND t.locale = :locale
+              AND p.status = 'published'
+            ORDER BY ts_rank_cd(t.search_vector, to_tsquery(CAST(:config AS regconfig), :query)) DESC
+            LIMIT :limit
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public PostSearchRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                @Value("${spring.datasource.url:}") String datasourceUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = datasourceUrl != null && datasourceUrl.startsWith("jdbc:postgresql:");
+    }
+
+    /**
+     * Id delle traduzioni pubblicate nel locale che contengono tutti i termini (anche come prefisso),
+     * ordinati per rilevanza (titolo pesa più del contenuto).
+     *
+     * @param terms termini già normalizzati: solo lettere e cifre, minuscoli, non vuoti
+     */
+    public List<String> searchPublishedTranslationIds(String locale, List<String> terms, int limit) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("locale", locale)
+                .addValue("limit", limit);
+        if (postgres) {
+            // "termine:*" = prefisso dopo lo stemming, "&" = AND
+            params.addValue("config", PG_TEXT_SEARCH_CONFIG.getOrDefault(locale, "simple"));
+            params.addValue("query", terms.stream().map(t -> t + ":*").collect(Collectors.joining(" & ")));
+            return jdbcTemplate.queryForList(POSTGRES_SEARCH, params, String.class);
+        }
+        // FTS5: "termine"* = prefisso, spazio = AND
+        params.addValue("query", terms.stream().map(t -> "\"" + t + "\"*").collect(Collectors.joining(" ")));
+        return jdbcTemplate.queryForList(SQLITE_SEARCH, params, String.class);
+    }
+}
@@ -11,7 +11,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PostTranslationRepository extends JpaRepository<PostTranslation, String> {
+public interface PostTranslationRepository extends JpaRepository<PostTranslation, String>, PostTranslationSlugQueries {
 
     List<PostTranslation> findByPostId(String postId);
 
@@ -22,5 +22,8 @@ public interface PostTranslationRepository extends JpaRepository<PostTranslation
 
     Optional<PostTranslation> findBySlug(String slug);
 
+    @Query("SELECT t FROM PostTranslation t JOIN FETCH t.post WHERE t.id IN :ids")
+    List<PostTranslation> findByIdInWithPost(@Param("ids") Collection<String> ids);
+
     void deleteByPostId(String postId);
 }
@@ -0,0 +1,16 @@
+package com.portfolio.backend.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Query custom di {@link PostTranslationRepository} sugli slug, con predicato dinamico.
+ */
+public interface PostTranslationSlugQueries {
+
+    /**
+     * (id, slug) delle traduzioni il cui slug è uno dei {@code baseSlugs} o ne deriva ("base-…"),
+     * come {@link PostTranslationSpecification#slugEqualsOrExtends}. Legge solo le due colonne.
+     */
+    List<TranslationSlugRow> findSlugsEqualOrExtending(Collection<String> baseSlugs);
+}
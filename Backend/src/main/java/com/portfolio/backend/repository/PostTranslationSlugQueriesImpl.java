@@ -0,0 +1,33 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.PostTranslation;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Criteria query con proiezione nel costruttore: stesso predicato della Specification, ma
+ * {@code SELECT t.id, t.slug} invece di caricare le entity intere (contenuto compreso).
+ */
+class PostTranslationSlugQueriesImpl implements PostTranslationSlugQueries {
+
+    private final EntityManager entityManager;
+
+    PostTranslationSlugQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TranslationSlugRow> findSlugsEqualOrExtending(Collection<String> baseSlugs) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TranslationSlugRow> query = cb.createQuery(TranslationSlugRow.class);
+        Root<PostTranslation> root = query.from(PostTranslation.class);
+        query.select(cb.construct(TranslationSlugRow.class, root.get("id"), root.get("slug")))
+                .where(PostTranslationSpecification.slugEqualsOrExtends(baseSlugs).toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getResultList();
+    }
+}
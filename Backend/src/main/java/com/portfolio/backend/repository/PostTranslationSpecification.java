@@ -0,0 +1,49 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.PostTranslation;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JPA Specifications per le traduzioni dei post.
+ */
+public final class PostTranslationSpecification {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private PostTranslationSpecification() {
+    }
+
+    /**
+     * Traduzioni il cui slug è uno dei {@code baseSlugs} oppure ne deriva con un suffisso ("base-…").
+     * Una sola query copre tutti i candidati che l'allocazione degli slug può provare per quelle basi.
+     */
+    public static Specification<PostTranslation> slugEqualsOrExtends(Collection<String> baseSlugs) {
+        return (root, query, cb) -> {
+            Expression<String> slug = root.get("slug");
+            List<Predicate> predicates = new ArrayList<>();
+            for (String base : baseSlugs) {
+                predicates.add(cb.equal(slug, base));
+                predicates.add(cb.like(slug, escapeLike(base) + "-%", LIKE_ESCAPE));
+            }
+            return predicates.isEmpty() ? cb.disjunction() : cb.or(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                sb.append(LIKE_ESCAPE);
+            }
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
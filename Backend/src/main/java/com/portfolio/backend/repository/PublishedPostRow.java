@@ -0,0 +1,20 @@
+package com.portfolio.backend.repository;
+
+import java.time.Instant;
+
+/**
+ * Proiezione piatta (post + una traduzione) usata per lo streaming del feed pubblico e dell'export bulk admin.
+ * Non è un'entity gestita: leggere migliaia di righe non fa crescere il persistence context.
+ * Per i post senza traduzioni i campi della traduzione sono null.
+ */
+public record PublishedPostRow(
+        String postId,
+        String postSlug,
+        Instant createdAt,
+        String status,
+        String translationId,
+        String locale,
+        String slug,
+        String title,
+        String content) {
+}
@@ -0,0 +1,7 @@
+package com.portfolio.backend.repository;
+
+/**
+ * Proiezione (id, slug) di una traduzione: quanto basta all'allocazione degli slug, senza titolo e contenuto.
+ */
+public record TranslationSlugRow(String id, String slug) {
+}
@@ -14,6 +14,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 /**
  * Job schedulato che esegue la cancellazione automatica (hard delete) dei dati oltre il periodo
  * di retention: contact messages e audit logs con {@code createdAt} più vecchio di N giorni.
+ * Archivia inoltre i job email conclusi (SENT/FAILED) più vecchi di {@code app.email-queue.archive.after-days}
+ * in email_jobs_archive, a lotti, ed elimina quelli archiviati da oltre {@code app.email-queue.archive.retention-days}.
  * <p>
  * Unica variabile: {@code app.data-retention.retention-days} (default 90).
  * Frequenza: {@code app.data-retention.cron} (default ogni giorno alle 02:00).
@@ -34,6 +36,14 @@ public class DataRetentionJob {
     @Value("${app.data-retention.retention-days:90}")
     private int retentionDays;
 
+    /** Giorni dopo cui un job email concluso passa dalla coda all'archivio. */
+    @Value("${app.email-queue.archive.after-days:7}")
+    private int emailJobArchiveAfterDays;
+
+    /** Giorni di conservazione dei job email archiviati. */
+    @Value("${app.email-queue.archive.retention-days:365}")
+    private int emailJobArchiveRetentionDays;
+
     /** Lock per evitare esecuzioni concorrenti (thread-safe). */
     private final AtomicBoolean running = new AtomicBoolean(false);
 
@@ -54,14 +64,16 @@ public class DataRetentionJob {
             return;
         }
         try {
-            Instant cutoff = Instant.now().minusSeconds((long) retentionDays * 24 * 60 * 60);
+            Instant cutoff = daysAgo(retentionDays);
             log.info("Data retention job started: deleting records older than {} day(s) (cutoff {})", retentionDays, cutoff);
 
             int totalContacts = deleteContactsInBatches(cutoff);
             int totalAuditLogs = deleteAuditLogsInBatches(cutoff);
+            int archivedEmailJobs = archiveEmailJobsInBatches(daysAgo(emailJobArchiveAfterDays));
+            int purgedEmailJobs = dataRetentionService.deleteArchivedEmailJobsOlderThan(daysAgo(emailJobArchiveRetentionDays));
 
-            log.info("Data retention job completed: deleted {} contact(s), {} audit log(s)",
-                    totalContacts, totalAuditLogs);
+            log.info("Data retention job completed: deleted {} contact(s), {} audit log(s); archived {} email job(s), purged {} archived",
+                    totalContacts, totalAuditLogs, archivedEmailJobs, purgedEmailJobs);
         } catch (Exception e) {
             log.error("Data retention job failed", e);
         } finally {
@@ -99,4 +111,27 @@ public class DataRetentionJob {
         }
         return deleted;
     }
+
+    /**
+     * Archivia i job email conclusi prima di cutoff, un lotto per transazione fino a esaurimento.
+     *
+     * @param cutoff data di cutoff (esclusiva)
+     * @return numero totale di job archiviati
+     */
+    private int archiveEmailJobsInBatches(Instant cutoff) {
+        int total = 0;
+        int archived;
+        do {
+            archived = dataRetentionService.archiveFinishedEmailJobsBatch(cutoff);
+            total += archived;
+        } while (archived >= dataRetentionService.getBatchSize());
+        if (total > 0) {
+            log.debug("Data retention: archived {} email job(s)", total);
+        }
+        return total;
+    }
+
+    private static Instant daysAgo(int days) {
+        return Instant.now().minusSeconds((long) days * 24 * 60 * 60);
+    }
 }
@@ -0,0 +1,58 @@
+package com.portfolio.backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache dei totali della lista admin dei post, per combinazione di filtri (status, titolo).
+ * La COUNT viene rieseguita solo dopo una scrittura su post/traduzioni ({@link PostChangedEvent}).
+ * Le ricerche per titolo sono libere: oltre {@link #MAX_ENTRIES} combinazioni la cache viene svuotata.
+ */
+@Component
+public class AdminPostCountCache {
+
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<String, CachedCount> counts = new ConcurrentHashMap<>();
+    /**
+     * Incrementata a ogni invalidazione: una COUNT iniziata prima di una scrittura e salvata dopo
+     * l'invalidazione resta della generazione precedente e non viene più restituita.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    /**
+     * Totale per i filtri indicati, calcolato con {@code counter} se non già in cache.
+     */
+    public long getOrCount(String status, String titleSearch, LongSupplier counter) {
+        String key = (status != null ? status : "") + "|" + (titleSearch != null ? titleSearch : "");
+        long currentGeneration = generation.get();
+        CachedCount cached = counts.get(key);
+        if (cached != null && cached.generation() == currentGeneration) {
+            return cached.total();
+        }
+        long total = counter.getAsLong();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new CachedCount(total, currentGeneration));
+        return total;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        counts.clear();
+    }
+
+    private record CachedCount(long total, long generation) {
+    }
+}
@@ -0,0 +1,68 @@
+package com.portfolio.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.portfolio.backend.repository.AdminUserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.OptionalInt;
+
+/**
+ * token_version corrente degli admin tenuta in memoria, per verificare la revoca dei JWT senza una query
+ * per richiesta. Una voce viene invalidata dopo il commit di logout o reset password ({@link AdminTokensRevokedEvent}).
+ * <p>
+ * Con più istanze su PostgreSQL la revoca arriva alle altre istanze via NOTIFY ({@link PostgresNotifications}).
+ * Se LISTEN/NOTIFY non è disponibile (disattivato, o notifica persa mentre la connessione di ascolto cade) resta
+ * la scadenza {@code app.security.token-version-cache-seconds}, che è quindi il ritardo massimo di una revoca:
+ * pochi secondi costano una query per admin attivo a ogni scadenza.
+ */
+@Component
+public class AdminTokenVersionRegistry {
+
+    /** Valore in cache per uno username che non esiste (nessun admin, nessun ruolo). */
+    private static final int UNKNOWN_ADMIN = Integer.MIN_VALUE;
+    private static final long MAX_ENTRIES = 1_000;
+
+    private final AdminUserRepository adminUserRepository;
+    private final Cache<String, Integer> versions;
+
+    public AdminTokenVersionRegistry(AdminUserRepository adminUserRepository,
+                                     @Value("${app.security.token-version-cache-seconds:5}") long ttlSeconds) {
+        this.adminUserRepository = adminUserRepository;
+        this.versions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .maximumSize(MAX_ENTRIES)
+                .build();
+    }
+
+    /**
+     * token_version attuale dell'admin, vuoto se lo username non esiste in admin_users.
+     */
+    public OptionalInt currentVersion(String username) {
+        if (username == null || username.isBlank()) {
+            return OptionalInt.empty();
+        }
+        int version = versions.get(username, u -> adminUserRepository.findTokenVersionByUsername(u).orElse(UNKNOWN_ADMIN));
+        return version == UNKNOWN_ADMIN ? OptionalInt.empty() : OptionalInt.of(version);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(AdminTokensRevokedEvent event) {
+        invalidate(event.username());
+    }
+
+    /**
+     * Dimentica la token_version dell'admin (tutti gli admin se {@code username} è null): la prossima richiesta
+     * la rilegge dal database.
+     */
+    public void invalidate(String username) {
+        if (username == null) {
+            versions.invalidateAll();
+        } else {
+            versions.invalidate(username);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.portfolio.backend.service;
+
+/**
+ * Evento pubblicato quando la token_version di un admin viene incrementata (logout, reset password):
+ * i JWT emessi prima non sono più validi. {@link AdminTokenVersionRegistry} lo riceve dopo il commit.
+ *
+ * @param username admin interessato; null se non noto (si invalida tutto il registro)
+ */
+public record AdminTokensRevokedEvent(String username) {
+}
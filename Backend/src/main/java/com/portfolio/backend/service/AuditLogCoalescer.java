@@ -0,0 +1,150 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.entity.AuditLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Accorpa gli eventi di audit ripetuti (es. RATE_LIMIT_EXCEEDED durante un flood) prima della scrittura:
+ * gli eventi con stessa azione, actor, tipo risorsa e hash IP arrivati entro {@code app.audit-log.coalesce.window-seconds}
+ * dal primo diventano una sola riga, con {@code occurrence_count} e {@code last_seen_at} (il primo è created_at).
+ * <p>
+ * Sono accorpate solo le azioni in {@code app.audit-log.coalesce.actions}. Le finestre chiuse vengono passate
+ * all'{@link AuditLogWriter} dal job periodico; oltre {@code max-keys} finestre aperte (es. flood da IP sempre diversi)
+ * gli eventi nuovi vengono scritti singolarmente. In chiusura le finestre aperte vengono scritte prima che il writer si fermi.
+ */
+@Component
+public class AuditLogCoalescer implements SmartLifecycle {
+
+    /** Si ferma dopo il web server e prima dell'{@link AuditLogWriter}, a cui consegna le finestre aperte. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 3072;
+
+    private final AuditLogWriter auditLogWriter;
+    private final Set<String> actions;
+    private final Duration window;
+    private final int maxKeys;
+    private final Map<Key, Aggregate> open = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    public AuditLogCoalescer(AuditLogWriter auditLogWriter,
+                             @Value("${app.audit-log.coalesce.actions:RATE_LIMIT_EXCEEDED}") String actions,
+                             @Value("${app.audit-log.coalesce.window-seconds:60}") long windowSeconds,
+                             @Value("${app.audit-log.coalesce.max-keys:10000}") int maxKeys) {
+        this.auditLogWriter = auditLogWriter;
+        this.actions = Arrays.stream(actions.split(","))
+                .map(a -> a.trim().toUpperCase(Locale.ROOT))
+                .filter(a -> !a.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.window = Duration.ofSeconds(Math.max(1, windowSeconds));
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * @return true se l'evento è stato accorpato (lo scriverà il coalescer), false se va scritto direttamente
+     */
+    public boolean offer(AuditLog entry) {
+        if (!running || !actions.contains(entry.getAction())) {
+            return false;
+        }
+        Key key = new Key(entry.getAction(), entry.getActor(), entry.getResourceType(), entry.getIpAddress());
+        if (open.size() >= maxKeys && !open.containsKey(key)) {
+            return false;
+        }
+        // compute serializza aggiunte e chiusura sulla stessa chiave
+        open.compute(key, (k, aggregate) -> {
+            if (aggregate == null) {
+                return new Aggregate(entry);
+            }
+            aggregate.add(entry.getCreatedAt());
+            return aggregate;
+        });
+        return true;
+    }
+
+    /**
+     * Consegna al writer le finestre iniziate da almeno {@code window-seconds}.
+     */
+    @Scheduled(fixedDelayString = "${app.audit-log.coalesce.flush-ms:1000}")
+    public void flushExpired() {
+        Instant cutoff = Instant.now().minus(window);
+        for (Key key : open.keySet()) {
+            open.computeIfPresent(key, (k, aggregate) -> {
+                if (aggregate.first.getCreatedAt().isAfter(cutoff)) {
+                    return aggregate;
+                }
+                auditLogWriter.submit(aggregate.toEntry());
+                return null;
+            });
+        }
+    }
+
+    private void flushAll() {
+        for (Key key : open.keySet()) {
+            open.computeIfPresent(key, (k, aggregate) -> {
+                auditLogWriter.submit(aggregate.toEntry());
+                return null;
+            });
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        flushAll();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private record Key(String action, String actor, String resourceType, String ipHash) {
+    }
+
+    /** Finestra aperta: primo evento più conteggio e ultimo istante. Modificata solo dentro compute. */
+    private static final class Aggregate {
+        private final AuditLog first;
+        private int count = 1;
+        private Instant lastSeen;
+
+        Aggregate(AuditLog first) {
+            this.first = first;
+            this.lastSeen = first.getCreatedAt();
+        }
+
+        void add(Instant seenAt) {
+            count++;
+            if (seenAt != null && seenAt.isAfter(lastSeen)) {
+                lastSeen = seenAt;
+            }
+        }
+
+        AuditLog toEntry() {
+            first.setOccurrenceCount(count);
+            first.setLastSeenAt(count > 1 ? lastSeen : null);
+            return first;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.portfolio.backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.entity.AuditLog;
+import com.portfolio.backend.repository.AuditLogSpecification;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Export completo degli audit log (stessi filtri di {@link AuditLogSpecification}) in CSV o NDJSON, scritto in streaming.
+ * <p>
+ * Le righe arrivano da un cursore JDBC con fetch size {@code app.audit-log.export.fetch-size} (su PostgreSQL serve
+ * la transazione aperta, altrimenti il driver carica tutto il risultato) e ogni entity viene staccata dal persistence
+ * context appena scritta: la memoria usata non dipende dal numero di righe esportate.
+ */
+@Service
+public class AuditLogExportService {
+
+    /** Formato di export. */
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        /** @throws IllegalArgumentException se il formato non è csv o ndjson */
+        public static Format parse(String value) {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        }
+    }
+
+    private static final String[] CSV_HEADER = {
+            "id", "timestamp", "action", "actor", "resourceType", "resourceId", "details",
+            "ipAddress", "userAgent", "occurrenceCount", "lastSeenAt"
+    };
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int fetchSize;
+
+    public AuditLogExportService(EntityManager entityManager, ObjectMapper objectMapper,
+                                 @Value("${app.audit-log.export.fetch-size:500}") int fetchSize) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.fetchSize = Math.max(1, fetchSize);
+    }
+
+    /**
+     * Scrive su {@code out} tutti gli audit log che rispettano i filtri, dal più recente. Lo stream non viene chiuso.
+     *
+     * @return righe scritte
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, String action, String actor, Instant dateFrom, Instant dateTo,
+                       OutputStream out) throws IOException {
+        try (Stream<AuditLog> rows = stream(AuditLogSpecification.withFilters(action, actor, dateFrom, dateTo))) {
+            return format == Format.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+        }
+    }
+
+    private Stream<AuditLog> stream(Specification<AuditLog> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> root = query.from(AuditLog.class);
+        query.where(spec.toPredicate(root, query, cb));
+        query.orderBy(cb.desc(root.get("createdAt")), cb.desc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    private long writeCsv(Iterator<AuditLog> rows, OutputStream out) throws IOException {
+        // Il Writer non viene chiuso (chiuderebbe out): basta il flush finale
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRecord(writer, CSV_HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            AuditLog log = rows.next();
+            writeCsvRecord(writer, new String[] {
+                    log.getId(),
+                    toText(log.getCreatedAt()),
+                    log.getAction(),
+                    log.getActor(),
+                    log.getResourceType(),
+                    log.getResourceId(),
+                    log.getDetails(),
+                    log.getIpAddress(),
+                    log.getUserAgent(),
+                    Integer.toString(log.getOccurrenceCount()),
+                    toText(log.getLastSeenAt())
+            });
+            entityManager.detach(log);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private long writeNdjson(Iterator<AuditLog> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator gen = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                AuditLog log = rows.next();
+                // Stessi nomi dei campi di AuditLogResponse
+                gen.writeStartObject();
+                gen.writeStringField("id", log.getId());
+                gen.writeStringField("timestamp", toText(log.getCreatedAt()));
+                gen.writeStringField("action", log.getAction());
+                gen.writeStringField("actor", log.getActor());
+                gen.writeStringField("resourceType", log.getResourceType());
+                gen.writeStringField("resourceId", log.getResourceId());
+                gen.writeStringField("details", log.getDetails());
+                gen.writeStringField("ipAddress", log.getIpAddress());
+                gen.writeStringField("userAgent", log.getUserAgent());
+                gen.writeNumberField("occurrenceCount", log.getOccurrenceCount());
+                gen.writeStringField("lastSeenAt", toText(log.getLastSeenAt()));
+                gen.writeEndObject();
+                gen.writeRaw('\n');
+                entityManager.detach(log);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /** Record RFC 4180 terminato da CRLF. */
+    private static void writeCsvRecord(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // Actor e details possono arrivare da input anonimi (es. login fallito): niente formule se il file
+        // viene aperto in un foglio di calcolo
+        char first = value.charAt(0);
+        if (first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r') {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static String toText(Instant instant) {
+        return instant != null ? instant.toString() : null;
+    }
+}
@@ -1,16 +1,17 @@
 package com.portfolio.backend.service;
 
+import com.portfolio.backend.controller.dto.AuditLogCursorPageResponse;
 import com.portfolio.backend.controller.dto.AuditLogResponse;
 import com.portfolio.backend.entity.AuditLog;
 import com.portfolio.backend.exception.AuditLogNotFoundException;
 import com.portfolio.backend.repository.AuditLogRepository;
 import com.portfolio.backend.repository.AuditLogSpecification;
+import com.portfolio.backend.util.KeysetCursor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
@@ -18,10 +19,12 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.HexFormat;
+import java.util.List;
 
 /**
  * Servizio per la scrittura e lettura degli audit log.
- * La scrittura usa REQUIRES_NEW per essere persistita anche se la transazione chiamante fallisce.
+ * La scrittura è asincrona ({@link AuditLogWriter}): l'evento viene accodato e salvato a lotti da un thread dedicato,
+ * in una transazione propria, quindi resta persistito anche se la transazione chiamante fallisce.
  * IP e User-Agent vengono salvati come hash SHA-256 (hex) per ridurre il rischio privacy.
  */
 @Service
@@ -29,16 +32,27 @@ public class AuditLogService {
 
     private static final String HASH_ALGORITHM = "SHA-256";
     private static final int AUDIT_LOGS_PAGE_SIZE = 20;
+    private static final int MAX_ACTOR_LENGTH = 255;
+    private static final int MAX_ACTION_LENGTH = 100;
+    private static final int MAX_RESOURCE_TYPE_LENGTH = 50;
+    private static final int MAX_RESOURCE_ID_LENGTH = 36;
 
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
+    private final AuditLogCoalescer auditLogCoalescer;
 
-    public AuditLogService(AuditLogRepository auditLogRepository) {
+    public AuditLogService(AuditLogRepository auditLogRepository, AuditLogWriter auditLogWriter,
+                           AuditLogCoalescer auditLogCoalescer) {
         this.auditLogRepository = auditLogRepository;
+        this.auditLogWriter = auditLogWriter;
+        this.auditLogCoalescer = auditLogCoalescer;
     }
 
     /**
      * Registra un evento di audit. IP e User-Agent vengono hashati (SHA-256) prima del salvataggio.
-     * Gli altri campi opzionali possono essere null.
+     * Gli altri campi opzionali possono essere null. Il timestamp è quello della chiamata; la scrittura su DB
+     * avviene in background (vedi {@link AuditLogWriter}); gli eventi ripetuti possono essere accorpati
+     * ({@link AuditLogCoalescer}).
      *
      * @param actor       chi ha eseguito l'azione (es. username o "anonymous")
      * @param action      tipo di azione (es. LOGIN_SUCCESS, LOGIN_FAILURE, VIEW_MESSAGES)
@@ -48,24 +62,28 @@ public class AuditLogService {
      * @param ipAddress   IP client in chiaro; salvato come hash, opzionale
      * @param userAgent   User-Agent in chiaro; salvato come hash, opzionale
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = false)
     public void log(String actor, String action, String resourceType, String resourceId,
                     String details, String ipAddress, String userAgent) {
         AuditLog log = new AuditLog();
-        log.setActor(actor != null ? actor : "anonymous");
-        log.setAction(action);
-        log.setResourceType(resourceType);
-        log.setResourceId(resourceId);
+        // Valori da input esterno (es. login lungo dal form): troncati ai limiti delle colonne, così l'evento resta valido
+        log.setActor(truncate(actor != null ? actor : "anonymous", MAX_ACTOR_LENGTH));
+        log.setAction(truncate(action, MAX_ACTION_LENGTH));
+        log.setResourceType(truncate(resourceType, MAX_RESOURCE_TYPE_LENGTH));
+        log.setResourceId(truncate(resourceId, MAX_RESOURCE_ID_LENGTH));
         log.setDetails(details);
         log.setIpAddress(hashOrNull(ipAddress));
         log.setUserAgent(hashOrNull(userAgent));
-        auditLogRepository.save(log);
+        log.setCreatedAt(Instant.now());
+        // Eventi ripetuti (es. RATE_LIMIT_EXCEEDED) diventano una riga con conteggio
+        if (!auditLogCoalescer.offer(log)) {
+            auditLogWriter.submit(log);
+        }
     }
 
     /**
      * Hash SHA-256 in esadecimale (64 caratteri). Restituisce null se input è null o blank.
      */
-    private String hashOrNull(String value) {
+    static String hashOrNull(String value) {
         if (value == null || value.isBlank()) {
             return null;
         }
@@ -78,10 +96,13 @@ public class AuditLogService {
         }
     }
 
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
     /**
      * Versione semplificata: solo actor e action.
      */
-    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = false)
     public void log(String actor, String action) {
         log(actor, action, null, null, null, null, null);
     }
@@ -130,7 +151,45 @@ public class AuditLogService {
             return auditLogRepository.findAllByOrderByCreatedAtDesc(pageable).map(this::toAuditLogResponse);
         }
         Specification<AuditLog> spec = AuditLogSpecification.withFilters(action, actor, dateFrom, dateTo);
-        return auditLogRepository.findAll(spec, pageable).map(this::toAuditLogResponse);
+        Pageable sorted = PageRequest.of(safePage, AUDIT_LOGS_PAGE_SIZE, AuditLogSpecification.NEWEST_FIRST);
+        return auditLogRepository.findAll(spec, sorted).map(this::toAuditLogResponse);
+    }
+
+    /**
+     * Audit logs after the cursor (keyset on createdAt, id; newest first) with the same filters as
+     * {@link #getAuditLogs(int, String, String, Instant, Instant)}, except that the actor matches as a prefix
+     * (index range scan instead of a substring scan). Reads size+1 rows to know whether a next page
+     * exists; no COUNT query: the total comes from the trigger-maintained audit_log_counts table, so the cost
+     * does not depend on how far back the page is.
+     *
+     * @param after cursor of the last entry of the previous page; null for the first page
+     */
+    @Transactional(readOnly = true)
+    public AuditLogCursorPageResponse getAuditLogsAfter(KeysetCursor after, String action, String actor,
+                                                        Instant dateFrom, Instant dateTo) {
+        Specification<AuditLog> spec = AuditLogSpecification.withActorPrefixFilters(action, actor, dateFrom, dateTo)
+                .and(AuditLogSpecification.after(after));
+        List<AuditLog> rows = auditLogRepository.findBy(spec, query -> query
+                .sortBy(AuditLogSpecification.NEWEST_FIRST)
+                .limit(AUDIT_LOGS_PAGE_SIZE + 1)
+                .all());
+        boolean hasNext = rows.size() > AUDIT_LOGS_PAGE_SIZE;
+        List<AuditLog> content = hasNext ? rows.subList(0, AUDIT_LOGS_PAGE_SIZE) : rows;
+        String next = null;
+        if (hasNext) {
+            AuditLog last = content.get(content.size() - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        long total = AuditLogSpecification.hasText(action)
+                ? auditLogRepository.countByActionFromCounters(AuditLogSpecification.normalizeAction(action))
+                : auditLogRepository.countAllFromCounters();
+        return AuditLogCursorPageResponse.builder()
+                .content(content.stream().map(this::toAuditLogResponse).toList())
+                .size(AUDIT_LOGS_PAGE_SIZE)
+                .next(next)
+                .total(total)
+                .totalExact(AuditLogSpecification.isCountableByAction(actor, dateFrom, dateTo))
+                .build();
     }
 
     private AuditLogResponse toAuditLogResponse(AuditLog log) {
@@ -147,6 +206,8 @@ public class AuditLogService {
                 .ipAddress(log.getIpAddress())
                 .userAgent(log.getUserAgent())
                 .timestamp(log.getCreatedAt())
+                .occurrenceCount(log.getOccurrenceCount())
+                .lastSeenAt(log.getLastSeenAt())
                 .build();
     }
 }
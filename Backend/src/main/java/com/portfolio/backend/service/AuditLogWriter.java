@@ -0,0 +1,236 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.entity.AuditLog;
+import com.portfolio.backend.repository.AuditLogRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scrittura asincrona degli audit log: {@link AuditLogService#log} mette l'evento in un buffer circolare limitato
+ * ({@code app.audit-log.buffer-size}) e torna subito; un thread dedicato lo svuota a lotti di al massimo
+ * {@code flush-size} eventi, al più ogni {@code flush-interval-ms}, con un'unica transazione e INSERT JDBC in batch
+ * (hibernate.jdbc.batch_size) per lotto.
+ * <p>
+ * Con il buffer pieno (es. flood di richieste 429) si applica {@code full-policy}:
+ * <ul>
+ *   <li>{@code block}: il chiamante attende fino a {@code block-timeout-ms}, poi l'evento viene scartato;</li>
+ *   <li>{@code drop}: l'evento viene scartato subito;</li>
+ *   <li>{@code sample}: oltre tre quarti di riempimento si accetta un evento ogni {@code sample-rate}, il resto è scartato.</li>
+ * </ul>
+ * Gli eventi scartati sono contati nella metrica {@code audit.log.dropped}. In chiusura dell'applicazione
+ * (dopo lo stop del web server) il buffer viene svuotato; eventi arrivati dopo lo stop vengono scritti subito.
+ */
+@Component
+public class AuditLogWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    /** Si ferma dopo il web server (fase più bassa = stop più tardi), così le richieste in corso possono ancora loggare. */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10_000;
+
+    /** Comportamento con buffer pieno. */
+    public enum FullPolicy {
+        BLOCK, DROP, SAMPLE
+    }
+
+    private final AuditLogRepository auditLogRepository;
+    private final TransactionTemplate writeTransaction;
+    private final BlockingQueue<AuditLog> buffer;
+    private final int capacity;
+    private final int flushSize;
+    private final long flushIntervalMs;
+    private final FullPolicy fullPolicy;
+    private final long blockTimeoutMs;
+    private final int sampleRate;
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final Counter droppedCounter;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public AuditLogWriter(AuditLogRepository auditLogRepository,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.audit-log.buffer-size:10000}") int bufferSize,
+                          @Value("${app.audit-log.flush-size:100}") int flushSize,
+                          @Value("${app.audit-log.flush-interval-ms:500}") long flushIntervalMs,
+                          @Value("${app.audit-log.full-policy:sample}") String fullPolicy,
+                          @Value("${app.audit-log.block-timeout-ms:50}") long blockTimeoutMs,
+                          @Value("${app.audit-log.sample-rate:10}") int sampleRate) {
+        this.auditLogRepository = auditLogRepository;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacity = Math.max(1, bufferSize);
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.flushSize = Math.max(1, flushSize);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.fullPolicy = FullPolicy.valueOf(fullPolicy.trim().toUpperCase(Locale.ROOT));
+        this.blockTimeoutMs = blockTimeoutMs;
+        this.sampleRate = Math.max(1, sampleRate);
+        this.droppedCounter = Counter.builder("audit.log.dropped")
+                .description("Audit log scartati per buffer pieno")
+                .register(meterRegistry);
+        Gauge.builder("audit.log.buffer.size", buffer, BlockingQueue::size)
+                .description("Audit log in attesa di scrittura")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Accoda un evento (con createdAt già impostato). Non lancia eccezioni: se non c'è posto l'evento è scartato.
+     */
+    public void submit(AuditLog entry) {
+        if (!running) {
+            // Prima dello start o dopo lo stop (es. job in chiusura): scrittura sincrona
+            write(List.of(entry));
+            return;
+        }
+        if (!enqueue(entry)) {
+            droppedCounter.increment();
+        }
+    }
+
+    private boolean enqueue(AuditLog entry) {
+        switch (fullPolicy) {
+            case BLOCK:
+                try {
+                    return buffer.offer(entry, blockTimeoutMs, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            case SAMPLE:
+                if (buffer.size() >= capacity - capacity / 4 && sampleCounter.incrementAndGet() % sampleRate != 0) {
+                    return false;
+                }
+                return buffer.offer(entry);
+            default:
+                return buffer.offer(entry);
+        }
+    }
+
+    private void drainLoop() {
+        List<AuditLog> batch = new ArrayList<>(flushSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AuditLog first = buffer.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Raccoglie fino a flushSize eventi o fino alla scadenza dell'intervallo dal primo
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (running && batch.size() < flushSize) {
+                    buffer.drainTo(batch, flushSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= flushSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                buffer.drainTo(batch, flushSize - batch.size());
+            } catch (InterruptedException e) {
+                // Nessuno interrompe il worker: stop() aspetta che il buffer si svuoti; si scrive quanto raccolto
+                buffer.drainTo(batch, flushSize - batch.size());
+            }
+            if (!batch.isEmpty()) {
+                try {
+                    write(batch);
+                } catch (RuntimeException e) {
+                    // Il thread è l'unico consumatore del buffer: non deve mai terminare per un errore
+                    log.error("Scrittura di {} audit log fallita: {}", batch.size(), e.getMessage());
+                } finally {
+                    batch.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Scrive il lotto in una transazione. Se fallisce (es. un evento non valido: validazione, vincoli, commit)
+     * riprova un evento alla volta, così va perso solo quello non scrivibile e non l'intero lotto.
+     */
+    private void write(List<AuditLog> batch) {
+        try {
+            writeTransaction.executeWithoutResult(status -> auditLogRepository.saveAll(batch));
+            return;
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                droppedCounter.increment();
+                log.error("Scrittura audit log fallita, evento scartato: {}", e.getMessage());
+                return;
+            }
+            log.warn("Scrittura di {} audit log fallita, nuovo tentativo evento per evento: {}", batch.size(), e.getMessage());
+        }
+        for (AuditLog entry : batch) {
+            try {
+                // Il tentativo fallito può aver assegnato l'id: senza, l'evento viene di nuovo inserito e non unito
+                entry.setId(null);
+                writeTransaction.executeWithoutResult(status -> auditLogRepository.save(entry));
+            } catch (RuntimeException e) {
+                droppedCounter.increment();
+                log.error("Scrittura audit log fallita, evento scartato (action={}): {}", entry.getAction(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::drainLoop, "audit-log-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // Il worker se ne accorge entro flush-interval-ms, scrive il lotto in corso e svuota il buffer.
+        // Niente interrupt: interromperebbe anche la scrittura JDBC in corso.
+        running = false;
+        try {
+            worker.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!buffer.isEmpty()) {
+            log.warn("Audit log: {} eventi non scritti in chiusura", buffer.size());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+}
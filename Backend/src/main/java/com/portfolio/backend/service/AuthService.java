@@ -1,10 +1,11 @@
 package com.portfolio.backend.service;
 
 import com.portfolio.backend.entity.AdminUser;
+import com.portfolio.backend.exception.PasswordVerificationBusyException;
 import com.portfolio.backend.repository.AdminUserRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
@@ -12,20 +13,27 @@ import jakarta.transaction.Transactional;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 
 @Service
 public class AuthService {
 
     private final AdminUserRepository adminUserRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordVerifier passwordVerifier;
     private final JwtService jwtService;
+    private final AdminTokenVersionRegistry tokenVersionRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     public AuthService(AdminUserRepository adminUserRepository,
-                       PasswordEncoder passwordEncoder,
-                       JwtService jwtService) {
+                       PasswordVerifier passwordVerifier,
+                       JwtService jwtService,
+                       AdminTokenVersionRegistry tokenVersionRegistry,
+                       ApplicationEventPublisher eventPublisher) {
         this.adminUserRepository = adminUserRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordVerifier = passwordVerifier;
         this.jwtService = jwtService;
+        this.tokenVersionRegistry = tokenVersionRegistry;
+        this.eventPublisher = eventPublisher;
     }
 
     public Optional<AdminUser> findByUsername(String username) {
@@ -36,8 +44,28 @@ public class AuthService {
         return adminUserRepository.findByUsernameOrEmail(login);
     }
 
+    /**
+     * Verifica la password sul pool dedicato ({@link PasswordVerifier}). Se corretta e l'hash usa parametri
+     * Argon2 diversi da quelli attuali, lo rigenera con i nuovi parametri (rehash al login).
+     *
+     * @throws com.portfolio.backend.exception.PasswordVerificationBusyException se il pool è saturo
+     */
     public boolean validatePassword(AdminUser user, String rawPassword) {
-        return passwordEncoder.matches(rawPassword, user.getPasswordHash());
+        boolean valid = passwordVerifier.matches(rawPassword, user.getPasswordHash());
+        if (valid && passwordVerifier.needsRehash(user.getPasswordHash())) {
+            rehashPassword(user, rawPassword);
+        }
+        return valid;
+    }
+
+    private void rehashPassword(AdminUser user, String rawPassword) {
+        try {
+            String newHash = passwordVerifier.encode(rawPassword);
+            adminUserRepository.updatePasswordHashByUsername(user.getUsername(), newHash);
+            user.setPasswordHash(newHash);
+        } catch (PasswordVerificationBusyException e) {
+            // Login valido comunque: il rehash verrà ritentato al prossimo accesso
+        }
     }
 
     public String generateToken(AdminUser user) {
@@ -47,12 +75,12 @@ public class AuthService {
     /**
      * Verifica che il token non sia revocato (tokenVersion nel JWT corrisponde a quello nel DB).
      * Token senza claim tv (emessi prima dell'upgrade) sono trattati come version 0.
+     * La versione corrente arriva da {@link AdminTokenVersionRegistry} (nessuna query se già in memoria).
      */
     public boolean isTokenValid(String username, int tokenVersion) {
         int effectiveVersion = tokenVersion < 0 ? 0 : tokenVersion;
-        return adminUserRepository.findByUsername(username)
-                .map(u -> u.getTokenVersion() == effectiveVersion)
-                .orElse(false);
+        OptionalInt current = tokenVersionRegistry.currentVersion(username);
+        return current.isPresent() && current.getAsInt() == effectiveVersion;
     }
 
     /**
@@ -66,18 +94,17 @@ public class AuthService {
             return;
         }
         adminUserRepository.incrementTokenVersionByUsername(username);
+        eventPublisher.publishEvent(new AdminTokensRevokedEvent(username));
     }
 
     /**
      * Returns authorities for an admin user (used by JWT filter for method-level security).
-     * Only users present in admin_users are granted ROLE_ADMIN.
+     * Only users present in admin_users are granted ROLE_ADMIN (checked via {@link AdminTokenVersionRegistry}).
      */
     public List<GrantedAuthority> getAuthoritiesForAdmin(String username) {
-        if (username == null || username.isBlank()) {
+        if (tokenVersionRegistry.currentVersion(username).isEmpty()) {
             return Collections.emptyList();
         }
-        return adminUserRepository.findByUsername(username)
-                .map(u -> List.<GrantedAuthority>of(new SimpleGrantedAuthority("ROLE_ADMIN")))
-                .orElse(Collections.emptyList());
+        return List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
     }
 }
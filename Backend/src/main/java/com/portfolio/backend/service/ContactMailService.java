@@ -92,6 +92,17 @@ public class ContactMailService {
         return sendReplyToSenderInternal(contact);
     }
 
+    /**
+     * Provider usato per gli invii: "resend", "smtp" oppure "none" se nessuno è configurato.
+     * La coda persistente limita gli invii in corso per provider.
+     */
+    public String providerName() {
+        if (resendClient != null) {
+            return "resend";
+        }
+        return mailSender != null ? "smtp" : "none";
+    }
+
     private void sendNotificationToOwner(@NonNull Contact contact) {
         sendNotificationToOwnerInternal(contact);
     }
@@ -103,14 +114,7 @@ public class ContactMailService {
         }
         long startMs = System.currentTimeMillis();
         try {
-            String html = loadTemplate(TEMPLATE_NOTIFICATION);
-            String name = escapeHtml(safe(contact.getName()));
-            String email = escapeHtml(safe(contact.getEmail()));
-            String message = escapeHtml(safe(contact.getMessage()));
-
-            html = html.replace("${name}", name)
-                    .replace("${email}", email)
-                    .replace("${message}", message);
+            String html = renderOwnerNotification(contact);
 
             if (resendClient != null) {
                 String from = resendClient.getFromEmail();
@@ -169,12 +173,7 @@ public class ContactMailService {
         }
         long startMs = System.currentTimeMillis();
         try {
-            String html = loadTemplate(TEMPLATE_REPLY);
-            String name = escapeHtml(safe(contact.getName()));
-            if (name.isEmpty()) {
-                name = "there";
-            }
-            html = html.replace("${name}", name);
+            String html = renderAutoReply(contact);
 
             if (resendClient != null) {
                 String from = resendClient.getFromEmail();
@@ -218,6 +217,31 @@ public class ContactMailService {
         }
     }
 
+    /**
+     * HTML della notifica owner: template con nome, email e messaggio del contatto (escaped).
+     */
+    String renderOwnerNotification(@NonNull Contact contact) throws IOException {
+        String html = loadTemplate(TEMPLATE_NOTIFICATION);
+        String name = escapeHtml(safe(contact.getName()));
+        String email = escapeHtml(safe(contact.getEmail()));
+        String message = escapeHtml(safe(contact.getMessage()));
+        return html.replace("${name}", name)
+                .replace("${email}", email)
+                .replace("${message}", message);
+    }
+
+    /**
+     * HTML della risposta automatica al mittente.
+     */
+    String renderAutoReply(@NonNull Contact contact) throws IOException {
+        String html = loadTemplate(TEMPLATE_REPLY);
+        String name = escapeHtml(safe(contact.getName()));
+        if (name.isEmpty()) {
+            name = "there";
+        }
+        return html.replace("${name}", name);
+    }
+
     private String loadTemplate(String path) throws IOException {
         ClassPathResource resource = new ClassPathResource(path);
         return new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
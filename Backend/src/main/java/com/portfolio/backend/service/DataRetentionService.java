@@ -2,6 +2,7 @@ package com.portfolio.backend.service;
 
 import com.portfolio.backend.repository.AuditLogRepository;
 import com.portfolio.backend.repository.ContactRepository;
+import com.portfolio.backend.repository.EmailJobRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
+import java.util.List;
 
 /**
  * Servizio per la cancellazione automatica (hard delete) dei dati oltre il periodo di retention.
@@ -23,15 +25,22 @@ public class DataRetentionService {
 
     private final ContactRepository contactRepository;
     private final AuditLogRepository auditLogRepository;
+    private final EmailJobRepository emailJobRepository;
 
     /** Dimensione del batch per ogni transazione di delete (default 500). */
     @Value("${app.data-retention.batch-size:500}")
     private int batchSize;
 
     public DataRetentionService(ContactRepository contactRepository,
-                                AuditLogRepository auditLogRepository) {
+                                AuditLogRepository auditLogRepository,
+                                EmailJobRepository emailJobRepository) {
         this.contactRepository = contactRepository;
         this.auditLogRepository = auditLogRepository;
+        this.emailJobRepository = emailJobRepository;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
     }
 
     /**
@@ -62,4 +71,36 @@ public class DataRetentionService {
         log.debug("Deleted {} audit logs", deleted);
         return deleted;
     }
+
+    /**
+     * Sposta in email_jobs_archive al massimo {@code batchSize} job conclusi (SENT/FAILED) non aggiornati
+     * da prima di {@code cutoff}: copia ed eliminazione nella stessa transazione, così la coda resta piccola.
+     *
+     * @param cutoff data di cutoff (esclusiva) sull'ultimo aggiornamento del job
+     * @return numero di job tolti dalla coda in questo batch
+     */
+    @Transactional
+    public int archiveFinishedEmailJobsBatch(Instant cutoff) {
+        List<String> ids = emailJobRepository.findFinishedIdsUpdatedBefore(cutoff.toEpochMilli(), PageRequest.of(0, batchSize));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        emailJobRepository.copyFinishedToArchive(ids);
+        int archived = emailJobRepository.deleteFinishedByIds(ids);
+        log.debug("Archived {} email jobs", archived);
+        return archived;
+    }
+
+    /**
+     * Elimina dall'archivio i job email conclusi prima di {@code cutoff}.
+     *
+     * @param cutoff data di cutoff (esclusiva)
+     * @return numero di job archiviati eliminati
+     */
+    @Transactional
+    public int deleteArchivedEmailJobsOlderThan(Instant cutoff) {
+        int deleted = emailJobRepository.deleteArchivedFinishedBefore(cutoff.toEpochMilli());
+        log.debug("Deleted {} archived email jobs", deleted);
+        return deleted;
+    }
 }
@@ -0,0 +1,109 @@
+package com.portfolio.backend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Invio parallelo dei job della coda email su un pool di {@code app.email-queue.concurrency} thread,
+ * con al massimo {@code app.email-queue.max-in-flight-per-provider} invii in corso per provider (resend, smtp).
+ * <p>
+ * Il worker chiede gli slot liberi ({@link #freeSlots}) prima di prendere in carico i job: con il provider lento
+ * gli slot restano occupati e i job restano PENDING (disponibili ad altre istanze) invece di accumularsi qui.
+ * Un invio lento occupa solo il suo slot, quindi lo smaltimento cresce con la concorrenza e non dipende dal job
+ * più lento del lotto. Metrica: {@code email.dispatch.in.flight} per provider.
+ */
+@Component
+public class EmailDispatcher implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailDispatcher.class);
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxInFlightPerProvider;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Semaphore> providerSlots = new ConcurrentHashMap<>();
+
+    public EmailDispatcher(MeterRegistry meterRegistry,
+                           @Value("${app.email-queue.concurrency:4}") int concurrency,
+                           @Value("${app.email-queue.max-in-flight-per-provider:4}") int maxInFlightPerProvider) {
+        this.meterRegistry = meterRegistry;
+        this.maxInFlightPerProvider = Math.max(1, maxInFlightPerProvider);
+        AtomicInteger threadCount = new AtomicInteger();
+        int threads = Math.max(1, concurrency);
+        // Coda senza limite: i task in attesa sono comunque al più gli slot concessi dai semafori
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "email-dispatch-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Invii che il provider può ancora accettare adesso.
+     */
+    public int freeSlots(String provider) {
+        return slots(provider).availablePermits();
+    }
+
+    /**
+     * Avvia l'invio in background se il provider ha uno slot libero.
+     *
+     * @return false se non ci sono slot o il pool è in chiusura (il job non è stato avviato)
+     */
+    public boolean dispatch(String provider, Runnable send) {
+        Semaphore slots = slots(provider);
+        if (!slots.tryAcquire()) {
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    send.run();
+                } finally {
+                    slots.release();
+                }
+            });
+            return true;
+        } catch (RejectedExecutionException e) {
+            slots.release();
+            return false;
+        }
+    }
+
+    private Semaphore slots(String provider) {
+        return providerSlots.computeIfAbsent(provider, p -> {
+            Semaphore semaphore = new Semaphore(maxInFlightPerProvider);
+            Gauge.builder("email.dispatch.in.flight", semaphore, s -> maxInFlightPerProvider - s.availablePermits())
+                    .description("Invii email in corso")
+                    .tag("provider", p)
+                    .register(meterRegistry);
+            return semaphore;
+        });
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            // I job interrotti restano IN_PROGRESS e tornano PENDING con il rilascio dei lock scaduti
+            log.warn("EmailQueue: {} invii ancora in corso in chiusura, interrotti", executor.getActiveCount());
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.portfolio.backend.service;
+
+/**
+ * Evento pubblicato da {@link EmailQueueService} quando accoda nuovi job email. Dopo il commit sveglia
+ * {@link EmailQueueWorker} su questa istanza e, con PostgreSQL, le altre istanze via NOTIFY ({@link PostgresNotifications}).
+ *
+ * @param count job accodati
+ */
+public record EmailJobsEnqueuedEvent(int count) {
+}
@@ -8,7 +8,9 @@ import com.portfolio.backend.repository.EmailJobRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class EmailQueueService {
@@ -16,21 +18,30 @@ public class EmailQueueService {
     private static final Logger log = LoggerFactory.getLogger(EmailQueueService.class);
 
     private final EmailJobRepository emailJobRepository;
+    private final ApplicationEventPublisher eventPublisher;
     private final String notificationEmail;
     private final boolean sendReplyToSender;
 
     public EmailQueueService(
             EmailJobRepository emailJobRepository,
+            ApplicationEventPublisher eventPublisher,
             @Value("${app.contact.notification-email:}") String notificationEmail,
             @Value("${app.contact.send-reply-to-sender:true}") boolean sendReplyToSender
     ) {
         this.emailJobRepository = emailJobRepository;
+        this.eventPublisher = eventPublisher;
         this.notificationEmail = notificationEmail != null ? notificationEmail.trim() : "";
         this.sendReplyToSender = sendReplyToSender;
     }
 
+    /**
+     * Accoda i job email del contatto in un'unica transazione; dopo il commit il worker viene svegliato
+     * ({@link EmailJobsEnqueuedEvent}) invece di attendere il polling.
+     */
+    @Transactional
     public void enqueueContactEmails(Contact contact) {
         long now = System.currentTimeMillis();
+        int enqueued = 0;
 
         if (!notificationEmail.isEmpty()) {
             EmailJob notifyOwner = new EmailJob();
@@ -40,6 +51,7 @@ public class EmailQueueService {
             notifyOwner.setAttempts(0);
             notifyOwner.setNextAttemptAtMs(now);
             emailJobRepository.save(notifyOwner);
+            enqueued++;
         } else {
             log.debug("EmailQueue: skip notify-owner (notification email not configured)");
         }
@@ -52,6 +64,11 @@ public class EmailQueueService {
             replySender.setAttempts(0);
             replySender.setNextAttemptAtMs(now);
             emailJobRepository.save(replySender);
+            enqueued++;
+        }
+
+        if (enqueued > 0) {
+            eventPublisher.publishEvent(new EmailJobsEnqueuedEvent(enqueued));
         }
 
         log.info("EmailQueue: jobs enqueued for nuovo contatto");
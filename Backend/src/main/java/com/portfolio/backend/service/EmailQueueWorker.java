@@ -5,103 +5,192 @@ import com.portfolio.backend.entity.EmailJob;
 import com.portfolio.backend.entity.EmailJobStatus;
 import com.portfolio.backend.entity.EmailJobType;
 import com.portfolio.backend.repository.ContactRepository;
+import com.portfolio.backend.repository.EmailJobClaimRepository;
 import com.portfolio.backend.repository.EmailJobRepository;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.context.SmartLifecycle;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Invia i job email in coda da un thread dedicato ("email-queue-worker") che dorme finché non viene svegliato:
+ * dopo il commit di nuovi job ({@link EmailJobsEnqueuedEvent}), con un NOTIFY PostgreSQL da un'altra istanza
+ * ({@link PostgresNotifications}), quando si libera uno slot di invio con job scaduti in attesa, o quando scade
+ * un retry pianificato da questa istanza.
+ * <p>
+ * Il polling resta solo come rete di sicurezza (es. retry pianificati da un'istanza caduta): l'attesa parte da
+ * {@code poll-ms} e raddoppia a ogni claim vuoto fino a {@code max-poll-ms}. I lock scaduti vengono rilasciati
+ * con una schedulazione propria ({@code stale-check-ms}), non a ogni claim.
+ */
 @Component
-public class EmailQueueWorker {
+public class EmailQueueWorker implements SmartLifecycle {
 
     private static final Logger log = LoggerFactory.getLogger(EmailQueueWorker.class);
 
     private final EmailJobRepository emailJobRepository;
+    private final EmailJobClaimRepository emailJobClaimRepository;
     private final ContactRepository contactRepository;
     private final ContactMailService contactMailService;
+    private final EmailDispatcher emailDispatcher;
 
     private final int batchSize;
     private final int maxAttempts;
     private final long staleLockMs;
+    private final long pollMs;
+    private final long maxPollMs;
+
+    /** Segnale di sveglia: al più un permesso in sospeso, più segnali prima del prossimo claim valgono uno. */
+    private final Semaphore signal = new Semaphore(0);
+    /** Retry più vicino pianificato da questa istanza (Long.MAX_VALUE = nessuno). */
+    private final AtomicLong nextRetryAtMs = new AtomicLong(Long.MAX_VALUE);
+    /** True se l'ultimo claim può aver lasciato indietro job scaduti (lotto pieno o provider saturo). */
+    private volatile boolean backlog;
+    private volatile boolean running;
+    private Thread worker;
 
     public EmailQueueWorker(
             EmailJobRepository emailJobRepository,
+            EmailJobClaimRepository emailJobClaimRepository,
             ContactRepository contactRepository,
             ContactMailService contactMailService,
+            EmailDispatcher emailDispatcher,
             @Value("${app.email-queue.batch-size:10}") int batchSize,
             @Value("${app.email-queue.max-attempts:8}") int maxAttempts,
-            @Value("${app.email-queue.stale-lock-ms:300000}") long staleLockMs
+            @Value("${app.email-queue.stale-lock-ms:300000}") long staleLockMs,
+            @Value("${app.email-queue.poll-ms:5000}") long pollMs,
+            @Value("${app.email-queue.max-poll-ms:60000}") long maxPollMs
     ) {
         this.emailJobRepository = emailJobRepository;
+        this.emailJobClaimRepository = emailJobClaimRepository;
         this.contactRepository = contactRepository;
         this.contactMailService = contactMailService;
+        this.emailDispatcher = emailDispatcher;
         this.batchSize = Math.max(1, batchSize);
         this.maxAttempts = Math.max(1, maxAttempts);
         this.staleLockMs = Math.max(10_000L, staleLockMs);
+        this.pollMs = Math.max(100L, pollMs);
+        this.maxPollMs = Math.max(this.pollMs, maxPollMs);
     }
 
-    @Scheduled(fixedDelayString = "${app.email-queue.poll-ms:5000}")
-    public void tick() {
-        long now = System.currentTimeMillis();
+    /**
+     * Sveglia il worker per un claim immediato. Costa poco e si può chiamare da qualsiasi thread.
+     */
+    public void wakeUp() {
+        if (signal.availablePermits() == 0) {
+            signal.release();
+        }
+    }
 
-        int released = releaseStale(now);
-        if (released > 0) {
-            log.warn("EmailQueue: released {} stale locks", released);
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobsEnqueued(EmailJobsEnqueuedEvent event) {
+        wakeUp();
+    }
+
+    private void runLoop() {
+        long idleWaitMs = pollMs;
+        while (running) {
+            boolean moreWork;
+            try {
+                moreWork = tick();
+            } catch (RuntimeException e) {
+                log.error("EmailQueue: claim failed - {}", e.getMessage());
+                moreWork = false;
+            }
+            if (moreWork && !backlog) {
+                // Job trovati e coda svuotata: si torna all'intervallo breve di sicurezza
+                idleWaitMs = pollMs;
+            }
+            if (moreWork && backlog && emailDispatcher.freeSlots(contactMailService.providerName()) > 0) {
+                continue;
+            }
+            long waitMs = idleWaitMs;
+            long retryInMs = nextRetryAtMs.get() - System.currentTimeMillis();
+            if (retryInMs < waitMs) {
+                waitMs = Math.max(0L, retryInMs);
+            }
+            try {
+                if (signal.tryAcquire(waitMs, TimeUnit.MILLISECONDS)) {
+                    signal.drainPermits();
+                    idleWaitMs = pollMs;
+                } else if (!moreWork && !backlog && waitMs == idleWaitMs) {
+                    idleWaitMs = Math.min(maxPollMs, idleWaitMs * 2);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
+    }
 
-        List<EmailJob> claimed = claimDueJobs(now);
-        if (claimed.isEmpty()) {
-            return;
+    /**
+     * Prende in carico e invia i job scaduti.
+     *
+     * @return true se sono stati presi job o il provider è saturo (la coda non è ferma)
+     */
+    boolean tick() {
+        long now = System.currentTimeMillis();
+        nextRetryAtMs.getAndUpdate(at -> at <= now ? Long.MAX_VALUE : at);
+
+        // Backpressure: si prende solo quanto il provider può gestire ora; il resto resta PENDING per i giri successivi o altre istanze
+        String provider = contactMailService.providerName();
+        int freeSlots = emailDispatcher.freeSlots(provider);
+        if (freeSlots == 0) {
+            log.debug("EmailQueue: provider {} saturated, skipping claim", provider);
+            backlog = true;
+            return true;
         }
 
+        int limit = Math.min(batchSize, freeSlots);
+        List<EmailJob> claimed = claimDueJobs(now, limit);
+        backlog = claimed.size() == limit;
         for (EmailJob job : claimed) {
-            processOne(job);
+            if (!emailDispatcher.dispatch(provider, () -> sendAndSignal(job))) {
+                // Solo in chiusura: il job resta IN_PROGRESS e torna disponibile con il rilascio dei lock scaduti
+                log.warn("EmailQueue: dispatch rejected id={}, left to stale-lock release", job.getId());
+            }
         }
+        return !claimed.isEmpty();
     }
 
-    @Transactional
-    protected int releaseStale(long nowMs) {
-        long staleBefore = nowMs - staleLockMs;
-        List<EmailJob> stale = emailJobRepository.findByStatusAndLockedAtMsLessThan(
-                EmailJobStatus.IN_PROGRESS,
-                staleBefore
-        );
-        if (stale.isEmpty()) {
-            return 0;
-        }
-        for (EmailJob j : stale) {
-            j.setStatus(EmailJobStatus.PENDING);
-            j.setLockedAtMs(null);
+    private void sendAndSignal(EmailJob job) {
+        try {
+            processOne(job);
+        } finally {
+            // Slot di nuovo libero: nuovo claim subito se erano rimasti indietro job scaduti
+            if (backlog) {
+                wakeUp();
+            }
         }
-        emailJobRepository.saveAll(stale);
-        return stale.size();
     }
 
-    @Transactional
-    protected List<EmailJob> claimDueJobs(long nowMs) {
-        List<EmailJob> jobs = emailJobRepository
-                .findByStatusAndNextAttemptAtMsLessThanEqualOrderByCreatedAtMsAsc(
-                        EmailJobStatus.PENDING,
-                        nowMs,
-                        PageRequest.of(0, batchSize)
-                )
-                .getContent();
-
-        if (jobs.isEmpty()) {
-            return jobs;
+    @Scheduled(fixedDelayString = "${app.email-queue.stale-check-ms:60000}")
+    public void releaseStaleLocks() {
+        int released = releaseStale(System.currentTimeMillis());
+        if (released > 0) {
+            log.warn("EmailQueue: released {} stale locks", released);
+            wakeUp();
         }
+    }
 
-        for (EmailJob j : jobs) {
-            j.setStatus(EmailJobStatus.IN_PROGRESS);
-            j.setLockedAtMs(nowMs);
-        }
-        emailJobRepository.saveAll(jobs);
-        return jobs;
+    protected int releaseStale(long nowMs) {
+        return emailJobRepository.releaseStaleLocks(nowMs - staleLockMs, nowMs);
+    }
+
+    /**
+     * Prende i job scaduti con un solo UPDATE … RETURNING atomico (vedi {@link EmailJobClaimRepository}):
+     * sicuro con più istanze sulla stessa tabella. Ogni claim ha il proprio lease token (locked_by).
+     */
+    protected List<EmailJob> claimDueJobs(long nowMs, int limit) {
+        return emailJobClaimRepository.claimDue(nowMs, limit, UUID.randomUUID().toString());
     }
 
     protected void processOne(EmailJob job) {
@@ -139,47 +228,86 @@ public class EmailQueueWorker {
         }
     }
 
-    @Transactional
     protected void markSent(EmailJob job, long durationMs) {
-        EmailJob fresh = emailJobRepository.findById(job.getId()).orElse(job);
-        fresh.setStatus(EmailJobStatus.SENT);
-        fresh.setLockedAtMs(null);
-        fresh.setLastError(null);
-        emailJobRepository.save(fresh);
-            log.info("EmailQueue: job sent type={} in {}ms", fresh.getType(), durationMs);
+        if (complete(job, EmailJobStatus.SENT, job.getAttempts(), job.getNextAttemptAtMs(), null)) {
+            log.info("EmailQueue: job sent type={} in {}ms", job.getType(), durationMs);
+        }
     }
 
-    @Transactional
     protected void retryOrFail(EmailJob job, long durationMs, String error) {
-        EmailJob fresh = emailJobRepository.findById(job.getId()).orElse(job);
-        int attempts = fresh.getAttempts() + 1;
-        fresh.setAttempts(attempts);
-        fresh.setLockedAtMs(null);
-        fresh.setLastError(trim(error, 2000));
+        int attempts = job.getAttempts() + 1;
+        String lastError = trim(error, 2000);
 
         if (attempts >= maxAttempts) {
-            fresh.setStatus(EmailJobStatus.FAILED);
-            emailJobRepository.save(fresh);
-            log.error("EmailQueue: job failed permanently type={} attempts={} lastError={}", fresh.getType(), attempts, fresh.getLastError());
+            if (complete(job, EmailJobStatus.FAILED, attempts, job.getNextAttemptAtMs(), lastError)) {
+                log.error("EmailQueue: job failed permanently type={} attempts={} lastError={}", job.getType(), attempts, lastError);
+            }
             return;
         }
 
         long backoffMs = computeBackoffMs(attempts);
-        fresh.setStatus(EmailJobStatus.PENDING);
-        fresh.setNextAttemptAtMs(System.currentTimeMillis() + backoffMs);
-        emailJobRepository.save(fresh);
-        log.warn("EmailQueue: job retry scheduled id={} type={} attempt={} in {}ms (last duration {}ms)", fresh.getId(), fresh.getType(), attempts, backoffMs, durationMs);
+        long nextAttemptAtMs = System.currentTimeMillis() + backoffMs;
+        if (!complete(job, EmailJobStatus.PENDING, attempts, nextAttemptAtMs, lastError)) {
+            return;
+        }
+        if (nextRetryAtMs.getAndAccumulate(nextAttemptAtMs, Math::min) > nextAttemptAtMs) {
+            // Il worker potrebbe dormire oltre il nuovo retry: lo si sveglia perché ricalcoli l'attesa
+            wakeUp();
+        }
+        log.warn("EmailQueue: job retry scheduled id={} type={} attempt={} in {}ms (last duration {}ms)", job.getId(), job.getType(), attempts, backoffMs, durationMs);
     }
 
-    @Transactional
     protected void failPermanently(EmailJob job, String error) {
-        EmailJob fresh = emailJobRepository.findById(job.getId()).orElse(job);
-        fresh.setStatus(EmailJobStatus.FAILED);
-        fresh.setLockedAtMs(null);
-        fresh.setAttempts(Math.max(fresh.getAttempts(), maxAttempts));
-        fresh.setLastError(trim(error, 2000));
-        emailJobRepository.save(fresh);
-        log.error("EmailQueue: job failed permanently type={} reason={}", fresh.getType(), fresh.getLastError());
+        String lastError = trim(error, 2000);
+        if (complete(job, EmailJobStatus.FAILED, Math.max(job.getAttempts(), maxAttempts), job.getNextAttemptAtMs(), lastError)) {
+            log.error("EmailQueue: job failed permanently type={} reason={}", job.getType(), lastError);
+        }
+    }
+
+    /**
+     * Un solo UPDATE condizionato su status IN_PROGRESS e sul lease token di questo claim.
+     * Il job preso contiene già la riga com'era al claim, quindi non serve rileggerla.
+     *
+     * @return false se il lease è perso (job rilasciato come scaduto e forse preso da un'altra istanza)
+     */
+    private boolean complete(EmailJob job, EmailJobStatus status, int attempts, long nextAttemptAtMs, String lastError) {
+        int updated = emailJobRepository.completeLease(job.getId(), job.getLockedBy(), status, attempts,
+                nextAttemptAtMs, lastError, System.currentTimeMillis());
+        if (updated == 0) {
+            log.warn("EmailQueue: lease lost for job id={} type={}, {} not recorded", job.getId(), job.getType(), status);
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::runLoop, "email-queue-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        wakeUp();
+        try {
+            worker.join(pollMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
     }
 
     private long computeBackoffMs(int attempt) {
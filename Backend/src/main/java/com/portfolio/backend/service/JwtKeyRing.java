@@ -0,0 +1,156 @@
+package com.portfolio.backend.service;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Chiavi HMAC dei JWT admin, identificate dal {@code kid} nell'header del token.
+ * <p>
+ * {@code jwt.secret} è presente con kid {@value #DEFAULT_KEY_ID} e verifica anche i token senza kid
+ * (emessi prima della rotazione). Per ruotare le chiavi senza riavvio si indica {@code jwt.keys-file},
+ * un file properties riletto ogni {@code jwt.keys-reload-ms} se modificato:
+ * <pre>
+ * active=2026-10
+ * key.2026-10=&lt;segreto di almeno 32 byte&gt;
+ * key.2026-04=&lt;segreto precedente, ancora valido per i token già emessi&gt;
+ * </pre>
+ * I nuovi token sono firmati con la chiave {@code active}; tutte le chiavi elencate restano valide per la verifica.
+ * Una chiave tolta dal file invalida i token firmati con essa.
+ * <p>
+ * Ritiro di {@code jwt.secret}: con {@code accept-default=false} nel file la chiave {@value #DEFAULT_KEY_ID} non
+ * è più accettata, né per i token con quel kid né per quelli senza kid. Migrazione da un deploy con solo jwt.secret:
+ * <ol>
+ *   <li>file con una chiave nuova ({@code active} = nuovo kid): i token emessi finora restano validi;</li>
+ *   <li>attendere la scadenza dei token firmati con jwt.secret (jwt.expiration-ms);</li>
+ *   <li>aggiungere {@code accept-default=false}: viene applicato al prossimo reload, senza riavvio.</li>
+ * </ol>
+ */
+@Component
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KEY_ID = "default";
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRing.class);
+    private static final String ACTIVE_PROPERTY = "active";
+    private static final String ACCEPT_DEFAULT_PROPERTY = "accept-default";
+    private static final String KEY_PREFIX = "key.";
+
+    /** Chiave di firma corrente con il suo kid. */
+    public record SigningKey(String keyId, SecretKey key) {
+    }
+
+    private record Snapshot(SigningKey active, Map<String, SecretKey> keys) {
+    }
+
+    private final SecretKey defaultKey;
+    private final Path keysFile;
+    private volatile Snapshot snapshot;
+    private volatile FileTime loadedModifiedTime;
+
+    /**
+     * @param secret   segreto di jwt.secret
+     * @param keysFile file delle chiavi ruotabili; vuoto o null per usare solo jwt.secret
+     * @throws IllegalStateException se il file indicato non è leggibile o non è valido
+     */
+    public JwtKeyRing(@Value("${jwt.secret}") String secret,
+                      @Value("${jwt.keys-file:}") String keysFile) {
+        this.defaultKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keysFile = keysFile == null || keysFile.isBlank() ? null : Path.of(keysFile);
+        this.snapshot = new Snapshot(new SigningKey(DEFAULT_KEY_ID, defaultKey), Map.of(DEFAULT_KEY_ID, defaultKey));
+        if (this.keysFile != null) {
+            try {
+                load();
+            } catch (IOException | RuntimeException e) {
+                throw new IllegalStateException("jwt.keys-file non valido: " + this.keysFile, e);
+            }
+        }
+    }
+
+    public SigningKey signingKey() {
+        return snapshot.active();
+    }
+
+    /**
+     * Chiave per verificare un token con il kid indicato (null = token senza kid, chiave di jwt.secret).
+     *
+     * @throws JwtException se il kid non corrisponde a nessuna chiave attiva (anche jwt.secret ritirato)
+     */
+    public SecretKey verificationKey(String keyId) {
+        String id = keyId != null ? keyId : DEFAULT_KEY_ID;
+        SecretKey key = snapshot.keys().get(id);
+        if (key == null) {
+            throw new JwtException(keyId == null ? "Token JWT senza kid non più accettati" : "Chiave JWT sconosciuta: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * true se il kid è ancora tra le chiavi attive (null = chiave di jwt.secret, attiva finché non ritirata).
+     */
+    public boolean isActive(String keyId) {
+        return snapshot.keys().containsKey(keyId != null ? keyId : DEFAULT_KEY_ID);
+    }
+
+    /**
+     * Rilegge {@code jwt.keys-file} se è cambiato. Se il file non è valido restano le chiavi precedenti.
+     */
+    @Scheduled(fixedDelayString = "${jwt.keys-reload-ms:60000}")
+    public void reloadIfChanged() {
+        if (keysFile == null) {
+            return;
+        }
+        try {
+            if (Files.getLastModifiedTime(keysFile).equals(loadedModifiedTime)) {
+                return;
+            }
+            load();
+            log.info("Chiavi JWT ricaricate da {}: attiva {}", keysFile, snapshot.active().keyId());
+        } catch (IOException | RuntimeException e) {
+            log.error("Chiavi JWT non ricaricate da {}, restano quelle precedenti: {}", keysFile, e.getMessage());
+        }
+    }
+
+    private void load() throws IOException {
+        FileTime modifiedTime = Files.getLastModifiedTime(keysFile);
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(keysFile, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        boolean acceptDefault = Boolean.parseBoolean(properties.getProperty(ACCEPT_DEFAULT_PROPERTY, "true").trim());
+        Map<String, SecretKey> keys = new HashMap<>();
+        if (acceptDefault) {
+            keys.put(DEFAULT_KEY_ID, defaultKey);
+        }
+        for (String name : properties.stringPropertyNames()) {
+            if (name.startsWith(KEY_PREFIX) && name.length() > KEY_PREFIX.length()) {
+                String secret = properties.getProperty(name).trim();
+                keys.put(name.substring(KEY_PREFIX.length()), Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        String activeKeyId = properties.getProperty(ACTIVE_PROPERTY, DEFAULT_KEY_ID).trim();
+        SecretKey activeKey = keys.get(activeKeyId);
+        if (activeKey == null) {
+            throw new IllegalStateException(DEFAULT_KEY_ID.equals(activeKeyId) && !acceptDefault
+                    ? "Con " + ACCEPT_DEFAULT_PROPERTY + "=false serve una chiave " + ACTIVE_PROPERTY + " diversa da " + DEFAULT_KEY_ID
+                    : "Chiave attiva senza segreto: " + activeKeyId);
+        }
+        snapshot = new Snapshot(new SigningKey(activeKeyId, activeKey), Map.copyOf(keys));
+        loadedModifiedTime = modifiedTime;
+    }
+}
@@ -1,48 +1,99 @@
 package com.portfolio.backend.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.LocatorAdapter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
 
+/**
+ * Emissione e verifica dei JWT admin. I token portano nell'header il kid della chiave di firma
+ * ({@link JwtKeyRing}); il parser è costruito una volta e cerca la chiave per kid a ogni verifica,
+ * quindi le chiavi ricaricate dal key ring valgono subito.
+ */
 @Service
 public class JwtService {
 
     private static final String CLAIM_TOKEN_VERSION = "tv";
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtParser parser;
     private final long expirationMs;
 
-    public JwtService(@Value("${jwt.secret}") String secret,
+    public JwtService(JwtKeyRing keyRing,
                       @Value("${jwt.expiration-ms}") long expirationMs) {
-        this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        this.keyRing = keyRing;
         this.expirationMs = expirationMs;
+        // JwtParser è immutabile e thread-safe: uno solo per tutte le richieste
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     public String generateToken(String username, int tokenVersion) {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + expirationMs);
+        JwtKeyRing.SigningKey signingKey = keyRing.signingKey();
         return Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
                 .subject(username)
                 .claim(CLAIM_TOKEN_VERSION, tokenVersion)
                 .issuedAt(now)
                 .expiration(expiry)
-                .signWith(secretKey)
+                .signWith(signingKey.key())
                 .compact();
     }
 
+    /**
+     * Claim usati dall'autenticazione, letti da un token già verificato.
+     *
+     * @param username     subject
+     * @param tokenVersion claim tv, -1 se assente (token emessi prima dell'introduzione della revoca)
+     * @param expiresAt    scadenza (exp)
+     * @param keyId        kid della chiave che ha firmato il token, null per token senza kid
+     */
+    public record JwtClaims(String username, int tokenVersion, Instant expiresAt, String keyId) {
+    }
+
+    /**
+     * Verifica firma e scadenza una sola volta e restituisce i claim usati dall'autenticazione.
+     *
+     * @throws io.jsonwebtoken.JwtException se il token non è valido o è scaduto
+     */
+    public JwtClaims parseClaims(String token) {
+        Jws<Claims> jws = parser.parseSignedClaims(token);
+        Claims claims = jws.getPayload();
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                claims.getSubject(),
+                tokenVersionOf(claims),
+                expiration != null ? expiration.toInstant() : null,
+                jws.getHeader().getKeyId());
+    }
+
 // si occupa di estrarre il username dal token JWT e di restituirlo come stringa
     public String extractUsername(String token) {
         return getClaims(token).getSubject();
     }
 
     public int extractTokenVersion(String token) {
-        Object tv = getClaims(token).get(CLAIM_TOKEN_VERSION);
+        return tokenVersionOf(getClaims(token));
+    }
+
+    private static int tokenVersionOf(Claims claims) {
+        Object tv = claims.get(CLAIM_TOKEN_VERSION);
         if (tv instanceof Number) {
             return ((Number) tv).intValue();
         }
@@ -50,18 +101,13 @@ public class JwtService {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return parser.parseSignedClaims(token).getPayload();
     }
 
     public boolean validateToken(String token, String username, int expectedTokenVersion) {
         try {
-            String extracted = extractUsername(token);
-            int version = extractTokenVersion(token);
-            return extracted.equals(username) && version == expectedTokenVersion;
+            JwtClaims claims = parseClaims(token);
+            return claims.username().equals(username) && claims.tokenVersion() == expectedTokenVersion;
         } catch (Exception e) {
             return false;
         }
@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -43,6 +44,7 @@ public class PasswordResetService {
     private final PasswordResetTokenRepository tokenRepository;
     private final PasswordEncoder passwordEncoder;
     private final AuthService authService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Value("${app.password-reset.token-expiration-minutes:60}")
     private int tokenExpirationMinutes;
@@ -61,11 +63,13 @@ public class PasswordResetService {
             AdminUserRepository adminUserRepository,
             PasswordResetTokenRepository tokenRepository,
             PasswordEncoder passwordEncoder,
-            AuthService authService) {
+            AuthService authService,
+            ApplicationEventPublisher eventPublisher) {
         this.adminUserRepository = adminUserRepository;
         this.tokenRepository = tokenRepository;
         this.passwordEncoder = passwordEncoder;
         this.authService = authService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -190,6 +194,8 @@ public class PasswordResetService {
             log.warn("Reset password: update non ha modificato nessuna riga per id={}", adminIdStr);
             return false;
         }
+        // La token_version in memoria viene scartata dopo il commit
+        eventPublisher.publishEvent(new AdminTokensRevokedEvent(usernameOpt.orElse(null)));
 
         // Marca token come usato (one-time use)
         token.setUsed(true);
@@ -0,0 +1,302 @@
+package com.portfolio.backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.controller.dto.BulkImportResponse;
+import com.portfolio.backend.controller.dto.BulkPostRecord;
+import com.portfolio.backend.controller.dto.CreatePostTranslationRequest;
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.entity.PostTranslation;
+import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.repository.PostTranslationRepository;
+import com.portfolio.backend.repository.PublishedPostRow;
+import com.portfolio.backend.service.TranslationSlugAllocator.SlugRequest;
+import com.portfolio.backend.util.SlugUtil;
+import com.portfolio.backend.util.XssSanitizer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Import/export bulk dei post in formato NDJSON (una riga = un {@link BulkPostRecord} con le traduzioni).
+ * <p>
+ * Export: righe proiettate dal DB in streaming e scritte subito con un {@link JsonGenerator}.
+ * Import: le righe valide vengono raccolte in blocchi di {@code batch-size}; ogni blocco è una transazione,
+ * con un solo controllo di univocità slug per i post e una sola allocazione slug per le traduzioni.
+ * Gli INSERT partono al commit in batch JDBC (hibernate.jdbc.batch_size + order_inserts in application.yml).
+ */
+@Service
+public class PostBulkService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostBulkService.class);
+
+    private final PostRepository postRepository;
+    private final PostTranslationRepository postTranslationRepository;
+    private final TranslationSlugAllocator slugAllocator;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate writeTransaction;
+    private final int batchSize;
+
+    public PostBulkService(PostRepository postRepository,
+                           PostTranslationRepository postTranslationRepository,
+                           TranslationSlugAllocator slugAllocator,
+                           ObjectMapper objectMapper,
+                           Validator validator,
+                           ApplicationEventPublisher eventPublisher,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize) {
+        this.postRepository = postRepository;
+        this.postTranslationRepository = postTranslationRepository;
+        this.slugAllocator = slugAllocator;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /**
+     * Scrive tutti i post (qualsiasi status) su {@code out}, un oggetto JSON per riga. Lo stream non viene chiuso.
+     */
+    @Transactional(readOnly = true)
+    public void exportNdjson(OutputStream out) throws IOException {
+        try (Stream<PublishedPostRow> rows = postRepository.streamAllRows();
+             JsonGenerator gen = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // NDJSON: separatore tra oggetti radice = newline scritto a mano, non lo spazio di default
+            gen.setRootValueSeparator(null);
+            String currentPostId = null;
+            Iterator<PublishedPostRow> it = rows.iterator();
+            while (it.hasNext()) {
+                PublishedPostRow row = it.next();
+                if (!row.postId().equals(currentPostId)) {
+                    if (currentPostId != null) {
+                        endRecord(gen);
+                    }
+                    startRecord(gen, row);
+                    currentPostId = row.postId();
+                }
+                if (row.translationId() != null) {
+                    gen.writeStartObject();
+                    gen.writeStringField("locale", row.locale());
+                    gen.writeStringField("slug", row.slug());
+                    gen.writeStringField("title", row.title());
+                    gen.writeStringField("content", row.content());
+                    gen.writeEndObject();
+                }
+            }
+            if (currentPostId != null) {
+                endRecord(gen);
+            }
+        }
+    }
+
+    /**
+     * Importa i post letti da {@code in} (NDJSON, UTF-8). Righe vuote ignorate; righe non valide o con slug
+     * del post già in uso vengono scartate e riportate nella risposta, le altre importate.
+     */
+    public BulkImportResponse importNdjson(InputStream in) throws IOException {
+        List<BulkImportResponse.LineError> errors = new ArrayList<>();
+        Set<String> claimedPostSlugs = new HashSet<>();
+        List<PendingPost> chunk = new ArrayList<>(batchSize);
+        int imported = 0;
+        int lineNumber = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            PendingPost pending = parse(lineNumber, line, errors);
+            if (pending == null) {
+                continue;
+            }
+            chunk.add(pending);
+            if (chunk.size() >= batchSize) {
+                imported += writeChunk(chunk, claimedPostSlugs, errors);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            imported += writeChunk(chunk, claimedPostSlugs, errors);
+        }
+        if (imported > 0) {
+            // Un solo evento per tutto l'import: read model, cache e indice si ricostruiscono una volta
+            eventPublisher.publishEvent(new PostChangedEvent(null));
+        }
+        log.info("Import bulk post: {} importati, {} scartati", imported, errors.size());
+        return BulkImportResponse.builder()
+                .success(errors.isEmpty())
+                .imported(imported)
+                .skipped(errors.size())
+                .errors(errors)
+                .build();
+    }
+
+    private PendingPost parse(int lineNumber, String line, List<BulkImportResponse.LineError> errors) {
+        BulkPostRecord record;
+        try {
+            record = objectMapper.readValue(line, BulkPostRecord.class);
+        } catch (JsonProcessingException e) {
+            errors.add(new BulkImportResponse.LineError(lineNumber, "JSON non valido: " + e.getOriginalMessage()));
+            return null;
+        }
+        Set<ConstraintViolation<BulkPostRecord>> violations = validator.validate(record);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            errors.add(new BulkImportResponse.LineError(lineNumber, message));
+            return null;
+        }
+        if (record.getTranslations() == null) {
+            record.setTranslations(new ArrayList<>());
+        }
+        List<CreatePostTranslationRequest> translations = record.getTranslations();
+        // Lo slug esportato viene mantenuto; solo se manca si ricava dal titolo della prima traduzione
+        String slug = normalize(record.getSlug());
+        if (slug.isBlank() && !translations.isEmpty()) {
+            slug = SlugUtil.slugify(translations.get(0).getTitle());
+        }
+        if (slug.isBlank()) {
+            errors.add(new BulkImportResponse.LineError(lineNumber, "Slug obbligatorio quando non ci sono traduzioni."));
+            return null;
+        }
+        if (translations.stream().map(CreatePostTranslationRequest::getLocale).distinct().count() < translations.size()) {
+            errors.add(new BulkImportResponse.LineError(lineNumber, "Locale duplicato nelle traduzioni."));
+            return null;
+        }
+        return new PendingPost(lineNumber, slug, record);
+    }
+
+    /**
+     * Scrive un blocco di post in una transazione. Le righe con slug già in uso (DB o righe precedenti dello
+     * stesso import) vengono scartate; se il blocco fallisce in scrittura, tutte le sue righe risultano scartate
+     * e i loro slug tornano liberi per le righe successive.
+     *
+     * @return numero di post inseriti
+     */
+    private int writeChunk(List<PendingPost> chunk,
+                           Set<String> claimedPostSlugs,
+                           List<BulkImportResponse.LineError> errors) {
+        List<BulkImportResponse.LineError> chunkErrors = new ArrayList<>();
+        Set<String> chunkSlugs = new HashSet<>();
+        Integer written;
+        try {
+            written = writeTransaction.execute(status -> insertChunk(chunk, claimedPostSlugs, chunkSlugs, chunkErrors));
+        } catch (DataAccessException | ConstraintViolationException e) {
+            // Rollback: nessuno degli slug del blocco è stato scritto
+            claimedPostSlugs.removeAll(chunkSlugs);
+            log.warn("Import bulk post: blocco di {} righe non importato", chunk.size(), e);
+            for (PendingPost pending : chunk) {
+                errors.add(new BulkImportResponse.LineError(pending.line(), "Scrittura fallita: " + e.getMessage()));
+            }
+            return 0;
+        }
+        errors.addAll(chunkErrors);
+        return written != null ? written : 0;
+    }
+
+    private int insertChunk(List<PendingPost> chunk,
+                            Set<String> claimedPostSlugs,
+                            Set<String> chunkSlugs,
+                            List<BulkImportResponse.LineError> errors) {
+        Set<String> existing = new HashSet<>(postRepository.findExistingSlugs(
+                chunk.stream().map(PendingPost::slug).collect(Collectors.toSet())));
+        List<PendingPost> accepted = new ArrayList<>(chunk.size());
+        for (PendingPost pending : chunk) {
+            if (existing.contains(pending.slug()) || !claimedPostSlugs.add(pending.slug())) {
+                errors.add(new BulkImportResponse.LineError(pending.line(), "Slug già in uso: " + pending.slug()));
+            } else {
+                chunkSlugs.add(pending.slug());
+                accepted.add(pending);
+            }
+        }
+        List<SlugRequest> slugRequests = new ArrayList<>();
+        for (PendingPost pending : accepted) {
+            for (CreatePostTranslationRequest tr : pending.record().getTranslations()) {
+                slugRequests.add(new SlugRequest(translationSlug(tr), tr.getLocale(), null));
+            }
+        }
+        Iterator<String> translationSlugs = slugAllocator.allocate(slugRequests).iterator();
+        for (PendingPost pending : accepted) {
+            Post post = new Post();
+            post.setSlug(pending.slug());
+            post.setStatus(pending.record().getStatus().trim().toLowerCase(Locale.ROOT));
+            post.setCreatedAt(pending.record().getCreatedAt());
+            // persist assegna subito l'id (uuid2): le traduzioni possono referenziarlo prima del flush
+            postRepository.save(post);
+            for (CreatePostTranslationRequest tr : pending.record().getTranslations()) {
+                PostTranslation t = new PostTranslation();
+                t.setPostId(post.getId());
+                t.setPost(post);
+                t.setLocale(tr.getLocale());
+                t.setSlug(translationSlugs.next());
+                t.setTitle(XssSanitizer.stripHtml(tr.getTitle()));
+                t.setContent(XssSanitizer.stripHtml(tr.getContent()));
+                post.getTranslations().add(t);
+                postTranslationRepository.save(t);
+            }
+        }
+        return accepted.size();
+    }
+
+    private static void startRecord(JsonGenerator gen, PublishedPostRow row) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("slug", row.postSlug());
+        gen.writeStringField("status", row.status());
+        gen.writeStringField("createdAt", row.createdAt() != null ? row.createdAt().toString() : null);
+        gen.writeArrayFieldStart("translations");
+    }
+
+    private static void endRecord(JsonGenerator gen) throws IOException {
+        gen.writeEndArray();
+        gen.writeEndObject();
+        gen.writeRaw('\n');
+    }
+
+    private static String translationSlug(CreatePostTranslationRequest tr) {
+        String slug = tr.getSlug() != null && !tr.getSlug().isBlank()
+                ? normalize(tr.getSlug())
+                : SlugUtil.slugify(tr.getTitle());
+        return slug.isBlank() ? tr.getLocale() : slug;
+    }
+
+    private static String normalize(String slug) {
+        return slug == null ? "" : slug.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Riga NDJSON già validata, in attesa di essere scritta nel blocco corrente. */
+    private record PendingPost(int line, String slug, BulkPostRecord record) {
+    }
+}
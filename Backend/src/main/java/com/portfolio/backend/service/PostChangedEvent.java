@@ -0,0 +1,11 @@
+package com.portfolio.backend.service;
+
+/**
+ * Evento pubblicato da {@link PostService} dopo ogni scrittura su post o traduzioni
+ * (create, update, patch, delete). I listener che mantengono viste in memoria dei post
+ * lo ricevono dopo il commit della transazione.
+ *
+ * @param postId id del post modificato; null se la modifica riguarda più post
+ */
+public record PostChangedEvent(String postId) {
+}
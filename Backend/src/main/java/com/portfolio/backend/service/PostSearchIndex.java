@@ -0,0 +1,369 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.controller.dto.PostPublicResponse;
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.entity.PostTranslation;
+import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.util.SearchTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Motore di ricerca in-process (indice invertito) sulle traduzioni dei post pubblicati, indipendente dal database.
+ * <p>
+ * Per ogni locale: dizionario dei termini ordinato (ricerca per prefisso con binary search) e, per ogni termine,
+ * una posting list compatta in un {@code int[]} nel formato {@code [doc, freq, pos1..posFreq, doc, freq, ...]}.
+ * Titolo e contenuto condividono lo spazio delle posizioni, separati da un buco che impedisce match di frase
+ * a cavallo dei due campi; le occorrenze nel titolo pesano {@value #TITLE_BOOST} volte.
+ * <p>
+ * Query: i termini liberi sono cercati per prefisso, il testo tra virgolette è una frase esatta; tutte le
+ * clausole devono essere soddisfatte. Aggiornamento incrementale: a ogni {@link PostChangedEvent} viene
+ * ricaricato dal DB solo il post modificato e ricompilati in memoria i soli locale coinvolti.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(PostSearchIndex.class);
+    private static final String STATUS_PUBLISHED = "published";
+    private static final float TITLE_BOOST = 3.0f;
+    private static final Pattern QUERY_CLAUSE = Pattern.compile("\"([^\"]*)\"|(\\S+)");
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readTransaction;
+
+    /** Documenti sorgente per locale e id traduzione; modificati solo sotto il lock dell'istanza. */
+    private final Map<String, Map<String, Doc>> docsByLocale = new HashMap<>();
+    /** Indici compilati, sostituiti in blocco: le ricerche non prendono lock. */
+    private volatile Map<String, LocaleIndex> indexes = Map.of();
+
+    public PostSearchIndex(PostRepository postRepository, PlatformTransactionManager transactionManager) {
+        this.postRepository = postRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuildAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.postId() == null) {
+            rebuildAll();
+        } else {
+            reindexPost(event.postId());
+        }
+    }
+
+    /** Ricarica tutti i post pubblicati e ricompila ogni locale. */
+    public synchronized void rebuildAll() {
+        try {
+            List<Post> posts = readTransaction.execute(status ->
+                    postRepository.findByStatusWithTranslationsOrderByCreatedAtDesc(STATUS_PUBLISHED));
+            docsByLocale.clear();
+            if (posts != null) {
+                posts.forEach(this::addDocs);
+            }
+            Map<String, LocaleIndex> compiled = new HashMap<>();
+            docsByLocale.forEach((locale, docs) -> compiled.put(locale, LocaleIndex.compile(docs.values())));
+            indexes = Map.copyOf(compiled);
+            log.debug("PostSearchIndex: indice ricostruito ({} locale)", compiled.size());
+        } catch (Exception e) {
+            log.error("PostSearchIndex: ricostruzione indice fallita", e);
+        }
+    }
+
+    /** Aggiorna l'indice per un solo post: rimuove le sue traduzioni e reinserisce quelle pubblicate. */
+    public synchronized void reindexPost(String postId) {
+        try {
+            Optional<Post> post = readTransaction.execute(status -> postRepository.findByIdWithTranslations(postId));
+            Set<String> touched = new HashSet<>();
+            docsByLocale.forEach((locale, docs) -> {
+                if (docs.values().removeIf(d -> d.postId().equals(postId))) {
+                    touched.add(locale);
+                }
+            });
+            if (post != null && post.isPresent() && STATUS_PUBLISHED.equalsIgnoreCase(post.get().getStatus())) {
+                post.get().getTranslations().forEach(t -> touched.add(t.getLocale()));
+                addDocs(post.get());
+            }
+            if (touched.isEmpty()) {
+                return;
+            }
+            Map<String, LocaleIndex> compiled = new HashMap<>(indexes);
+            for (String locale : touched) {
+                compiled.put(locale, LocaleIndex.compile(docsByLocale.getOrDefault(locale, Map.of()).values()));
+            }
+            indexes = Map.copyOf(compiled);
+        } catch (Exception e) {
+            log.error("PostSearchIndex: aggiornamento indice fallito per post {}", postId, e);
+        }
+    }
+
+    /**
+     * Cerca nei post pubblicati del locale. Ordinamento per punteggio (tf-idf con boost sul titolo),
+     * a parità di punteggio i più recenti prima.
+     */
+    public List<PostPublicResponse> search(String locale, String query, int limit) {
+        LocaleIndex index = indexes.get(locale);
+        List<Clause> clauses = parseQuery(query);
+        if (index == null || clauses.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        float[] scores = null;
+        for (Clause clause : clauses) {
+            float[] clauseScores = clause.phrase()
+                    ? index.scorePhrase(clause.tokens())
+                    : index.scorePrefix(clause.tokens().get(0));
+            if (scores == null) {
+                scores = clauseScores;
+            } else {
+                for (int d = 0; d < scores.length; d++) {
+                    scores[d] = scores[d] > 0 && clauseScores[d] > 0 ? scores[d] + clauseScores[d] : 0;
+                }
+            }
+        }
+        List<Integer> hits = new ArrayList<>();
+        for (int d = 0; d < scores.length; d++) {
+            if (scores[d] > 0) {
+                hits.add(d);
+            }
+        }
+        float[] finalScores = scores;
+        Comparator<Integer> byScore = Comparator.comparingDouble(d -> -finalScores[d]);
+        Comparator<Integer> newestFirst = Comparator.comparing(
+                (Integer d) -> index.docs()[d].response().getCreatedAt(),
+                Comparator.nullsLast(Comparator.<Instant>reverseOrder()));
+        return hits.stream()
+                .sorted(byScore.thenComparing(newestFirst))
+                .limit(limit)
+                .map(d -> index.docs()[d].response())
+                .toList();
+    }
+
+    private void addDocs(Post post) {
+        for (PostTranslation t : post.getTranslations()) {
+            PostPublicResponse response = PostPublicResponse.builder()
+                    .id(post.getId())
+                    .slug(t.getSlug())
+                    .title(t.getTitle())
+                    .content(t.getContent())
+                    .locale(t.getLocale())
+                    .createdAt(post.getCreatedAt())
+                    .build();
+            List<String> titleTokens = SearchTokenizer.tokenize(t.getTitle());
+            List<String> contentTokens = SearchTokenizer.tokenize(t.getContent());
+            // null = buco tra i due campi (nessuna frase può attraversarlo)
+            String[] tokens = new String[titleTokens.size() + 1 + contentTokens.size()];
+            for (int i = 0; i < titleTokens.size(); i++) {
+                tokens[i] = titleTokens.get(i);
+            }
+            for (int i = 0; i < contentTokens.size(); i++) {
+                tokens[titleTokens.size() + 1 + i] = contentTokens.get(i);
+            }
+            docsByLocale.computeIfAbsent(t.getLocale(), k -> new LinkedHashMap<>())
+                    .put(t.getId(), new Doc(post.getId(), response, tokens, titleTokens.size()));
+        }
+    }
+
+    private static List<Clause> parseQuery(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        List<Clause> clauses = new ArrayList<>();
+        Matcher m = QUERY_CLAUSE.matcher(query);
+        while (m.find()) {
+            boolean quoted = m.group(1) != null;
+            List<String> tokens = SearchTokenizer.tokenize(quoted ? m.group(1) : m.group(2));
+            if (tokens.isEmpty()) {
+                continue;
+            }
+            // un termine libero che si spezza in più token (es. "spring-boot") è trattato come frase
+            clauses.add(new Clause(tokens, quoted || tokens.size() > 1));
+        }
+        return clauses;
+    }
+
+    private record Clause(List<String> tokens, boolean phrase) {
+    }
+
+    private record Doc(String postId, PostPublicResponse response, String[] tokens, int titleLength) {
+    }
+
+    /**
+     * Indice compilato (immutabile) di un locale.
+     *
+     * @param docs     documenti, l'indice nell'array è il doc id delle posting list
+     * @param terms    dizionario ordinato
+     * @param postings posting list per termine: [doc, freq, pos1..posFreq, ...]
+     * @param docFreq  numero di documenti per termine
+     */
+    private record LocaleIndex(Doc[] docs, String[] terms, int[][] postings, int[] docFreq) {
+
+        static LocaleIndex compile(Collection<Doc> source) {
+            Doc[] docs = source.toArray(new Doc[0]);
+            TreeMap<String, IntList> byTerm = new TreeMap<>();
+            for (int d = 0; d < docs.length; d++) {
+                Map<String, IntList> positions = new LinkedHashMap<>();
+                String[] tokens = docs[d].tokens();
+                for (int pos = 0; pos < tokens.length; pos++) {
+                    if (tokens[pos] != null) {
+                        positions.computeIfAbsent(tokens[pos], k -> new IntList()).add(pos);
+                    }
+                }
+                for (Map.Entry<String, IntList> e : positions.entrySet()) {
+                    IntList list = byTerm.computeIfAbsent(e.getKey(), k -> new IntList());
+                    list.add(d);
+                    list.add(e.getValue().size());
+                    list.addAll(e.getValue());
+                }
+            }
+            String[] terms = byTerm.keySet().toArray(new String[0]);
+            int[][] postings = new int[terms.length][];
+            int[] docFreq = new int[terms.length];
+            int i = 0;
+            for (IntList list : byTerm.values()) {
+                int[] compact = list.toArray();
+                postings[i] = compact;
+                int df = 0;
+                for (int p = 0; p < compact.length; p += 2 + compact[p + 1]) {
+                    df++;
+                }
+                docFreq[i] = df;
+                i++;
+            }
+            return new LocaleIndex(docs, terms, postings, docFreq);
+        }
+
+        /** Punteggio per documento di tutti i termini che iniziano con {@code prefix}. */
+        float[] scorePrefix(String prefix) {
+            float[] scores = new float[docs.length];
+            int start = Arrays.binarySearch(terms, prefix);
+            if (start < 0) {
+                start = -start - 1;
+            }
+            for (int t = start; t < terms.length && terms[t].startsWith(prefix); t++) {
+                float idf = idf(t);
+                int[] list = postings[t];
+                for (int p = 0; p < list.length; p += 2 + list[p + 1]) {
+                    int doc = list[p];
+                    int titleLength = docs[doc].titleLength();
+                    float weight = 0;
+                    for (int k = 0; k < list[p + 1]; k++) {
+                        weight += list[p + 2 + k] < titleLength ? TITLE_BOOST : 1.0f;
+                    }
+                    scores[doc] += weight * idf;
+                }
+            }
+            return scores;
+        }
+
+        /** Punteggio per documento delle occorrenze della frase esatta {@code tokens}. */
+        float[] scorePhrase(List<String> tokens) {
+            float[] scores = new float[docs.length];
+            int[] termIds = new int[tokens.size()];
+            float idfSum = 0;
+            for (int i = 0; i < tokens.size(); i++) {
+                termIds[i] = Arrays.binarySearch(terms, tokens.get(i));
+                if (termIds[i] < 0) {
+                    return scores;
+                }
+                idfSum += idf(termIds[i]);
+            }
+            // posizioni per documento dei termini successivi al primo
+            List<Map<Integer, int[]>> following = new ArrayList<>();
+            for (int i = 1; i < termIds.length; i++) {
+                following.add(positionsByDoc(postings[termIds[i]]));
+            }
+            int[] first = postings[termIds[0]];
+            for (int p = 0; p < first.length; p += 2 + first[p + 1]) {
+                int doc = first[p];
+                int titleLength = docs[doc].titleLength();
+                float weight = 0;
+                for (int k = 0; k < first[p + 1]; k++) {
+                    int start = first[p + 2 + k];
+                    if (phraseAt(following, doc, start)) {
+                        weight += start < titleLength ? TITLE_BOOST : 1.0f;
+                    }
+                }
+                scores[doc] = weight * idfSum;
+            }
+            return scores;
+        }
+
+        private static boolean phraseAt(List<Map<Integer, int[]>> following, int doc, int start) {
+            for (int i = 0; i < following.size(); i++) {
+                int[] positions = following.get(i).get(doc);
+                if (positions == null || Arrays.binarySearch(positions, start + i + 1) < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static Map<Integer, int[]> positionsByDoc(int[] list) {
+            Map<Integer, int[]> result = new HashMap<>();
+            for (int p = 0; p < list.length; p += 2 + list[p + 1]) {
+                result.put(list[p], Arrays.copyOfRange(list, p + 2, p + 2 + list[p + 1]));
+            }
+            return result;
+        }
+
+        private float idf(int termId) {
+            return (float) Math.log(1.0 + (double) docs.length / docFreq[termId]);
+        }
+    }
+
+    /** Lista di int crescente senza boxing, usata solo durante la compilazione dell'indice. */
+    private static final class IntList {
+
+        private int[] values = new int[8];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(IntList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,33 +1,68 @@
 package com.portfolio.backend.service;
 
+import com.portfolio.backend.controller.dto.PostCursorPageResponse;
 import com.portfolio.backend.controller.dto.PostPublicResponse;
 import com.portfolio.backend.entity.Post;
 import com.portfolio.backend.entity.PostTranslation;
 import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.repository.PostSearchRepository;
 import com.portfolio.backend.repository.PostTranslationRepository;
+import com.portfolio.backend.util.KeysetCursor;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 @Service
 public class PostService {
 
+    private static final Logger log = LoggerFactory.getLogger(PostService.class);
+    private static final String SEARCH_ENGINE_MEMORY = "memory";
+    private static final Pattern SEARCH_TERM_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 8;
+
     private final PostRepository postRepository;
     private final PostTranslationRepository postTranslationRepository;
+    private final PostSearchRepository postSearchRepository;
+    private final PublishedPostReadModel publishedPostReadModel;
+    private final PostSearchIndex postSearchIndex;
+    private final AdminPostCountCache adminPostCountCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean inMemorySearch;
 
     public PostService(PostRepository postRepository,
-                       PostTranslationRepository postTranslationRepository) {
+                       PostTranslationRepository postTranslationRepository,
+                       PostSearchRepository postSearchRepository,
+                       PublishedPostReadModel publishedPostReadModel,
+                       PostSearchIndex postSearchIndex,
+                       AdminPostCountCache adminPostCountCache,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${app.post-search.engine:database}") String searchEngine) {
         this.postRepository = postRepository;
         this.postTranslationRepository = postTranslationRepository;
+        this.postSearchRepository = postSearchRepository;
+        this.publishedPostReadModel = publishedPostReadModel;
+        this.postSearchIndex = postSearchIndex;
+        this.adminPostCountCache = adminPostCountCache;
+        this.eventPublisher = eventPublisher;
+        this.inMemorySearch = SEARCH_ENGINE_MEMORY.equalsIgnoreCase(searchEngine != null ? searchEngine.trim() : "");
     }
 
     @Transactional(readOnly = true)
@@ -52,20 +87,20 @@ public class PostService {
 
     /**
      * Lista admin con ordinamento: prima published, poi per createdAt desc; filtri opzionali status e ricerca per titolo.
+     * Una query per la pagina, una per le traduzioni (batch); il totale è in {@link AdminPostCountCache}.
      */
     @Transactional(readOnly = true)
     public Page<Post> findAllWithTranslationsForAdmin(String status, String titleSearch, Pageable pageable) {
         // "" invece di null per titleSearch evita binding bytea su PostgreSQL (lower(bytea))
         String normalizedTitle = (titleSearch != null && !titleSearch.isBlank()) ? titleSearch.trim() : "";
         String normalizedStatus = (status != null && !status.isBlank()) ? status.trim() : null;
-        Page<Post> page = postRepository.findForAdminOrderByPublishedFirst(normalizedTitle, normalizedStatus, pageable);
-        if (page.getContent().isEmpty()) return page;
-        List<String> ids = page.getContent().stream().map(Post::getId).toList();
-        List<Post> withTrans = postRepository.findByIdInOrderByCreatedAtDesc(ids);
-        Map<String, Integer> order = new java.util.HashMap<>();
-        for (int i = 0; i < ids.size(); i++) order.put(ids.get(i), i);
-        withTrans.sort(Comparator.comparingInt(p -> order.getOrDefault(p.getId(), Integer.MAX_VALUE)));
-        return new PageImpl<>(withTrans, page.getPageable(), page.getTotalElements());
+        List<Post> posts = postRepository.findForAdminOrderByPublishedFirst(normalizedTitle, normalizedStatus, pageable);
+        // Le traduzioni arrivano in batch (@BatchSize) già nell'ordine della pagina: nessun secondo fetch né riordino
+        posts.forEach(p -> Hibernate.initialize(p.getTranslations()));
+        return PageableExecutionUtils.getPage(posts, pageable, () -> adminPostCountCache.getOrCount(
+                normalizedStatus,
+                normalizedTitle.toLowerCase(Locale.ROOT),
+                () -> postRepository.countForAdmin(normalizedTitle, normalizedStatus)));
     }
 
     @Transactional(readOnly = true)
@@ -103,6 +138,7 @@ public class PostService {
      * Lista paginata di post pubblicati per locale specifico con filtri opzionali:
      * - titleSearch: contiene nel titolo della traduzione (case-insensitive)
      * - createdFrom / createdTo: intervallo sulla data di creazione
+     * Servita dal {@link PublishedPostReadModel}; il DB viene interrogato solo se lo snapshot non è disponibile.
      */
     @Transactional(readOnly = true)
     public Page<PostPublicResponse> findPublishedPageByLocale(
@@ -111,6 +147,11 @@ public class PostService {
             String titleSearch,
             Instant createdFrom,
             Instant createdTo) {
+        Optional<Page<PostPublicResponse>> cached =
+                publishedPostReadModel.findPage(locale, pageable, titleSearch, createdFrom, createdTo);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
         // Passare "" invece di null evita che PostgreSQL bindi il parametro come bytea (errore lower(bytea))
         String normalizedTitle = isTitleSearchPresent(titleSearch) ? titleSearch.trim() : "";
         Page<Post> page = postRepository.findPublishedByLocaleWithFilters(
@@ -135,6 +176,112 @@ public class PostService {
         return new PageImpl<>(content, page.getPageable(), page.getTotalElements());
     }
 
+    /**
+     * Paginazione keyset (cursore su createdAt, id) dei post pubblicati per locale, con gli stessi filtri
+     * di {@link #findPublishedPageByLocale}. Non esegue COUNT: legge size+1 righe per sapere se esiste
+     * una pagina successiva; il costo non dipende dalla profondità della pagina.
+     *
+     * @param after cursore dell'ultimo elemento della pagina precedente; null per la prima pagina
+     */
+    @Transactional(readOnly = true)
+    public PostCursorPageResponse findPublishedSliceByLocale(
+            String locale,
+            KeysetCursor after,
+            int size,
+            String titleSearch,
+            Instant createdFrom,
+            Instant createdTo) {
+        List<PostPublicResponse> rows = publishedPostReadModel
+                .findAfter(locale, after, size + 1, titleSearch, createdFrom, createdTo)
+                .orElseGet(() -> loadPublishedAfter(locale, after, size + 1, titleSearch, createdFrom, createdTo));
+        boolean hasNext = rows.size() > size;
+        List<PostPublicResponse> content = hasNext ? rows.subList(0, size) : rows;
+        String next = null;
+        if (hasNext) {
+            PostPublicResponse last = content.get(content.size() - 1);
+            next = new KeysetCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return PostCursorPageResponse.builder()
+                .content(List.copyOf(content))
+                .size(size)
+                .next(next)
+                .build();
+    }
+
+    private List<PostPublicResponse> loadPublishedAfter(
+            String locale,
+            KeysetCursor after,
+            int limit,
+            String titleSearch,
+            Instant createdFrom,
+            Instant createdTo) {
+        String normalizedTitle = isTitleSearchPresent(titleSearch) ? titleSearch.trim() : "";
+        List<Post> posts = postRepository.findPublishedByLocaleAfterCursor(
+                "published",
+                locale,
+                normalizedTitle,
+                createdFrom,
+                createdTo,
+                after != null ? after.createdAt() : null,
+                after != null ? after.id() : "",
+                PageRequest.of(0, limit));
+        if (posts.isEmpty()) {
+            return List.of();
+        }
+        List<String> postIds = posts.stream().map(Post::getId).toList();
+        Map<String, PostTranslation> translationByPostId = postTranslationRepository
+                .findByPostIdInAndLocale(postIds, locale).stream()
+                .collect(Collectors.toMap(t -> t.getPost().getId(), t -> t));
+        return posts.stream()
+                .map(p -> toPublicResponse(p, translationByPostId.get(p.getId())))
+                .toList();
+    }
+
+    /**
+     * Ricerca full-text su titolo e contenuto dei post pubblicati in un locale, ordinata per rilevanza.
+     * La query viene spezzata in termini (solo lettere e cifre); ogni termine deve comparire, anche come prefisso.
+     * Con {@code app.post-search.engine=memory}, o se il DB non supporta la ricerca, risponde {@link PostSearchIndex}.
+     */
+    @Transactional(readOnly = true)
+    public List<PostPublicResponse> searchPublished(String locale, String query, int limit) {
+        if (inMemorySearch) {
+            return postSearchIndex.search(locale, query, limit);
+        }
+        List<String> terms = toSearchTerms(query);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        List<String> rankedIds;
+        try {
+            rankedIds = postSearchRepository.searchPublishedTranslationIds(locale, terms, limit);
+        } catch (DataAccessException e) {
+            // Indice FTS assente o non supportato dal DB: si usa l'indice invertito in memoria
+            log.warn("Ricerca full-text sul DB non disponibile, uso indice in memoria: {}", e.getMessage());
+            return postSearchIndex.search(locale, query, limit);
+        }
+        if (rankedIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, PostTranslation> byId = postTranslationRepository.findByIdInWithPost(rankedIds).stream()
+                .collect(Collectors.toMap(PostTranslation::getId, t -> t));
+        return rankedIds.stream()
+                .map(byId::get)
+                .filter(t -> t != null)
+                .map(t -> toPublicResponse(t.getPost(), t))
+                .toList();
+    }
+
+    private static List<String> toSearchTerms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return SEARCH_TERM_SEPARATOR.splitAsStream(query.trim().toLowerCase(Locale.ROOT))
+                .filter(t -> !t.isEmpty())
+                .distinct()
+                .limit(MAX_SEARCH_TERMS)
+                .toList();
+    }
+
     private static boolean isTitleSearchPresent(String titleSearch) {
         return titleSearch != null && !titleSearch.isBlank();
     }
@@ -153,19 +300,24 @@ public class PostService {
 
     @Transactional
     public Post save(Post post) {
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getId()));
+        return saved;
     }
 
     /** Aggiorna solo lo status del post (evita di caricare l'entità e la collezione lazy). */
     @Transactional
     public int updateStatusById(String id, String status) {
-        return postRepository.updateStatusById(id, status);
+        int updated = postRepository.updateStatusById(id, status);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
+        return updated;
     }
 
     @Transactional
     public void deleteById(String id) {
         postTranslationRepository.deleteByPostId(id);
         postRepository.deleteById(id);
+        eventPublisher.publishEvent(new PostChangedEvent(id));
     }
 
     @Transactional(readOnly = true)
@@ -212,6 +364,8 @@ public class PostService {
 
     @Transactional
     public PostTranslation saveTranslation(PostTranslation translation) {
-        return postTranslationRepository.save(translation);
+        PostTranslation saved = postTranslationRepository.save(translation);
+        eventPublisher.publishEvent(new PostChangedEvent(saved.getPostId()));
+        return saved;
     }
 }
@@ -0,0 +1,174 @@
+package com.portfolio.backend.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Segnali tra istanze con LISTEN/NOTIFY di PostgreSQL, su una sola connessione di ascolto:
+ * <ul>
+ *   <li>canale {@value #EMAIL_JOBS_CHANNEL}: dopo il commit di nuovi job questa istanza invia NOTIFY, e ogni
+ *       istanza in ascolto sveglia il proprio {@link EmailQueueWorker};</li>
+ *   <li>canale {@value #ADMIN_TOKENS_CHANNEL}: dopo una revoca dei token admin (payload = username, vuoto = tutti)
+ *       ogni istanza invalida la voce in {@link AdminTokenVersionRegistry}, senza aspettarne la scadenza.</li>
+ * </ul>
+ * Con SQLite (una sola istanza) bastano gli eventi in-process e qui non si fa nulla.
+ * <p>
+ * L'ascolto usa una connessione dedicata fuori dal pool. Con un pooler in transaction mode (es. Supabase porta 6543)
+ * LISTEN non funziona: impostare {@code app.email-queue.listen-url} con la connessione diretta, oppure
+ * {@code listen-notify: false} (restano il polling di sicurezza della coda e la scadenza della cache dei token).
+ * Se la connessione cade viene riaperta, il worker svegliato e la cache dei token svuotata, per recuperare
+ * le notifiche perse.
+ */
+@Component
+public class PostgresNotifications implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresNotifications.class);
+
+    static final String EMAIL_JOBS_CHANNEL = "email_jobs";
+    static final String ADMIN_TOKENS_CHANNEL = "admin_tokens_revoked";
+    /** Attesa massima di getNotifications; a ogni giro a vuoto un SELECT 1 verifica la connessione. */
+    private static final int LISTEN_TIMEOUT_MS = 30_000;
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailQueueWorker emailQueueWorker;
+    private final AdminTokenVersionRegistry adminTokenVersionRegistry;
+    private final boolean enabled;
+    private final String listenUrl;
+    private final String username;
+    private final String password;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public PostgresNotifications(JdbcTemplate jdbcTemplate,
+                                 EmailQueueWorker emailQueueWorker,
+                                 AdminTokenVersionRegistry adminTokenVersionRegistry,
+                                 @Value("${spring.datasource.url:}") String datasourceUrl,
+                                 @Value("${spring.datasource.username:}") String username,
+                                 @Value("${spring.datasource.password:}") String password,
+                                 @Value("${app.email-queue.listen-notify:true}") boolean listenNotify,
+                                 @Value("${app.email-queue.listen-url:}") String listenUrl) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.emailQueueWorker = emailQueueWorker;
+        this.adminTokenVersionRegistry = adminTokenVersionRegistry;
+        this.enabled = listenNotify && datasourceUrl != null && datasourceUrl.startsWith("jdbc:postgresql:");
+        this.listenUrl = listenUrl != null && !listenUrl.isBlank() ? listenUrl.trim() : datasourceUrl;
+        this.username = username;
+        this.password = password;
+    }
+
+    /**
+     * Dopo il commit dei job: NOTIFY alle altre istanze (la propria è già svegliata dal worker).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobsEnqueued(EmailJobsEnqueuedEvent event) {
+        notify(EMAIL_JOBS_CHANNEL, "");
+    }
+
+    /**
+     * Dopo il commit della revoca: NOTIFY alle altre istanze (la propria ha già invalidato la voce).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTokensRevoked(AdminTokensRevokedEvent event) {
+        notify(ADMIN_TOKENS_CHANNEL, event.username() != null ? event.username() : "");
+    }
+
+    private void notify(String channel, String payload) {
+        if (!enabled) {
+            return;
+        }
+        try {
+            // pg_notify con parametri: il payload (username) non finisce nel testo SQL
+            jdbcTemplate.queryForObject("SELECT pg_notify(?, ?)", String.class, channel, payload);
+        } catch (DataAccessException e) {
+            log.warn("PostgresNotifications: NOTIFY su {} fallito, le altre istanze useranno polling/scadenza - {}",
+                    channel, e.getMessage());
+        }
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(listenUrl, username, password);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + EMAIL_JOBS_CHANNEL);
+                statement.execute("LISTEN " + ADMIN_TOKENS_CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("PostgresNotifications: in ascolto sui canali {}, {}", EMAIL_JOBS_CHANNEL, ADMIN_TOKENS_CHANNEL);
+                // Job accodati e revoche avvenute mentre non eravamo in ascolto
+                emailQueueWorker.wakeUp();
+                adminTokenVersionRegistry.invalidate(null);
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(LISTEN_TIMEOUT_MS);
+                    if (notifications != null && notifications.length > 0) {
+                        dispatch(notifications);
+                    } else {
+                        statement.execute("SELECT 1");
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("PostgresNotifications: LISTEN interrotto, nuovo tentativo tra {}ms - {}", RECONNECT_DELAY_MS, e.getMessage());
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    void dispatch(PGNotification[] notifications) {
+        boolean wakeWorker = false;
+        for (PGNotification notification : notifications) {
+            if (ADMIN_TOKENS_CHANNEL.equals(notification.getName())) {
+                String revoked = notification.getParameter();
+                adminTokenVersionRegistry.invalidate(revoked == null || revoked.isEmpty() ? null : revoked);
+            } else if (EMAIL_JOBS_CHANNEL.equals(notification.getName())) {
+                wakeWorker = true;
+            }
+        }
+        // Più NOTIFY arrivati insieme: una sola sveglia
+        if (wakeWorker) {
+            emailQueueWorker.wakeUp();
+        }
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running || !enabled) {
+            return;
+        }
+        running = true;
+        listener = new Thread(this::listenLoop, "postgres-notifications-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        // Il thread esce entro LISTEN_TIMEOUT_MS (daemon, non blocca la chiusura); la connessione si chiude con il try
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
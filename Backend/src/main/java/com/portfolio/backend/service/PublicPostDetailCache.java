@@ -0,0 +1,113 @@
+package com.portfolio.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.controller.dto.PostPublicResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cache del dettaglio pubblico di un post (GET /api/posts/{locale}/{slug}) già serializzato in JSON UTF-8,
+ * con ETag forte calcolato sui byte della risposta.
+ * Viene svuotata dopo il commit di ogni scrittura su post/traduzioni ({@link PostChangedEvent}).
+ * Solo i post trovati vengono messi in cache: slug inesistenti non occupano memoria.
+ */
+@Component
+public class PublicPostDetailCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final PostService postService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, CachedJson> entries = new ConcurrentHashMap<>();
+    /** Incrementata a ogni invalidazione: le entry di una generazione precedente sono considerate scadute. */
+    private final AtomicLong generation = new AtomicLong();
+
+    public PublicPostDetailCache(PostService postService, ObjectMapper objectMapper) {
+        this.postService = postService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Restituisce il JSON del post pubblicato per locale + slug, caricandolo e serializzandolo se assente.
+     *
+     * @return empty se il post non esiste o non è pubblicato nel locale richiesto
+     */
+    public Optional<CachedJson> getOrLoad(String locale, String slug) {
+        String normalizedSlug = slug == null ? "" : slug.trim().toLowerCase(Locale.ROOT);
+        String key = locale + "/" + normalizedSlug;
+        long currentGeneration = generation.get();
+        CachedJson hit = entries.get(key);
+        if (hit != null && hit.generation() == currentGeneration) {
+            return Optional.of(hit);
+        }
+        Optional<PostPublicResponse> detail = postService.findPublishedDetailByLocaleAndSlug(locale, normalizedSlug);
+        if (detail.isEmpty()) {
+            entries.remove(key);
+            return Optional.empty();
+        }
+        CachedJson loaded = serialize(detail.get(), currentGeneration);
+        entries.put(key, loaded);
+        return Optional.of(loaded);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidateAll();
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    private CachedJson serialize(PostPublicResponse response, long entryGeneration) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            byte[] hash = MessageDigest.getInstance(HASH_ALGORITHM).digest(body);
+            String etag = "\"" + HexFormat.of().formatHex(hash, 0, 16) + "\"";
+            return new CachedJson(body, etag, entryGeneration);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Serializzazione dettaglio post fallita", e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " non disponibile", e);
+        }
+    }
+
+    /**
+     * Risposta JSON pronta da scrivere sullo stream, con il relativo ETag forte (già tra virgolette).
+     */
+    public record CachedJson(byte[] body, String etag, long generation) {
+
+        /**
+         * Confronto If-None-Match (RFC 9110: confronto debole, quindi il prefisso W/ viene ignorato).
+         */
+        public boolean matches(String ifNoneMatch) {
+            if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+                return false;
+            }
+            for (String candidate : ifNoneMatch.split(",")) {
+                String tag = candidate.trim();
+                if (tag.equals("*")) {
+                    return true;
+                }
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
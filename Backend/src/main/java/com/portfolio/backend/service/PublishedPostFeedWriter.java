@@ -0,0 +1,92 @@
+package com.portfolio.backend.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.repository.PublishedPostRow;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Scrive il feed pubblico di GET /api/posts come array JSON in streaming: le righe arrivano dal DB
+ * come proiezioni (fetch size JDBC) e vengono scritte subito con un {@link JsonGenerator},
+ * senza caricare entity né costruire la lista completa in memoria.
+ * Il formato è lo stesso della serializzazione di {@link com.portfolio.backend.entity.Post} con traduzioni.
+ */
+@Component
+public class PublishedPostFeedWriter {
+
+    private static final String STATUS_PUBLISHED = "published";
+
+    private final PostRepository postRepository;
+    private final ObjectMapper objectMapper;
+
+    public PublishedPostFeedWriter(PostRepository postRepository, ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Scrive tutti i post pubblicati su {@code out}. La transazione resta aperta per tutta la scrittura
+     * (richiesto dallo Stream di Spring Data); lo stream non viene chiuso.
+     */
+    @Transactional(readOnly = true)
+    public void write(OutputStream out) throws IOException {
+        try (Stream<PublishedPostRow> rows = postRepository.streamRowsByStatus(STATUS_PUBLISHED);
+             JsonGenerator gen = objectMapper.createGenerator(out, JsonEncoding.UTF8)) {
+            gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            gen.writeStartArray();
+            String currentPostId = null;
+            Iterator<PublishedPostRow> it = rows.iterator();
+            while (it.hasNext()) {
+                PublishedPostRow row = it.next();
+                if (!row.postId().equals(currentPostId)) {
+                    if (currentPostId != null) {
+                        endPost(gen);
+                    }
+                    startPost(gen, row);
+                    currentPostId = row.postId();
+                }
+                if (row.translationId() != null) {
+                    writeTranslation(gen, row);
+                }
+            }
+            if (currentPostId != null) {
+                endPost(gen);
+            }
+            gen.writeEndArray();
+        }
+    }
+
+    private static void startPost(JsonGenerator gen, PublishedPostRow row) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", row.postId());
+        gen.writeStringField("slug", row.postSlug());
+        // ISO-8601 come InstantSerializer di Jackson con WRITE_DATES_AS_TIMESTAMPS disabilitato (default Spring Boot)
+        gen.writeStringField("createdAt", row.createdAt() != null ? row.createdAt().toString() : null);
+        gen.writeStringField("status", row.status());
+        gen.writeArrayFieldStart("translations");
+    }
+
+    private static void endPost(JsonGenerator gen) throws IOException {
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+
+    private static void writeTranslation(JsonGenerator gen, PublishedPostRow row) throws IOException {
+        gen.writeStartObject();
+        gen.writeStringField("id", row.translationId());
+        gen.writeStringField("postId", row.postId());
+        gen.writeStringField("locale", row.locale());
+        gen.writeStringField("slug", row.slug());
+        gen.writeStringField("title", row.title());
+        gen.writeStringField("content", row.content());
+        gen.writeEndObject();
+    }
+}
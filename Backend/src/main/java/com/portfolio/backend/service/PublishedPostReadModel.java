@@ -0,0 +1,231 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.controller.dto.PostPublicResponse;
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.entity.PostTranslation;
+import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.util.KeysetCursor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Read model in memoria dei post pubblicati, un elenco per locale ordinato per createdAt desc.
+ * Costruito all'avvio e ricostruito dopo i {@link PostChangedEvent}; lo snapshot viene sostituito
+ * in modo atomico, quindi le letture non vedono mai uno stato parziale.
+ * Se il caricamento fallisce lo snapshot viene scartato e {@link PostService} torna a leggere dal DB.
+ * <p>
+ * Gli eventi non ricostruiscono subito: segnano lo snapshot come da rifare e un thread dedicato lo ricostruisce
+ * dopo {@code app.posts.read-model.rebuild-delay-ms}. Gli eventi di una stessa richiesta (es. creazione di un post
+ * con N traduzioni = N+1 commit) producono così un solo rebuild; il read model resta indietro al più di quel ritardo.
+ */
+@Component
+public class PublishedPostReadModel implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishedPostReadModel.class);
+    private static final String STATUS_PUBLISHED = "published";
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing((Entry e) -> e.response().getCreatedAt(), Comparator.nullsLast(Comparator.<Instant>reverseOrder()))
+            .thenComparing((Entry e) -> e.response().getId(), Comparator.nullsLast(Comparator.<String>reverseOrder()));
+
+    private final PostRepository postRepository;
+    private final TransactionTemplate readTransaction;
+    private final AtomicReference<Map<String, List<Entry>>> snapshot = new AtomicReference<>();
+    /** true se un rebuild è già in coda e non è ancora partito: gli eventi successivi ne sono coperti. */
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ScheduledExecutorService rebuildExecutor;
+    private final long rebuildDelayMs;
+
+    public PublishedPostReadModel(PostRepository postRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.posts.read-model.rebuild-delay-ms:100}") long rebuildDelayMs) {
+        this.postRepository = postRepository;
+        // REQUIRES_NEW: il rebuild gira sul thread dedicato, fuori dalla transazione che ha pubblicato l'evento
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+        this.rebuildDelayMs = Math.max(0, rebuildDelayMs);
+        this.rebuildExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "published-post-read-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Accoda un rebuild se non ce n'è già uno in attesa. Il flag viene azzerato prima di caricare i dati,
+     * quindi un evento arrivato durante un rebuild ne accoda un altro e nessun commit resta escluso.
+     */
+    void requestRebuild() {
+        if (!rebuildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            rebuildExecutor.schedule(() -> {
+                rebuildPending.set(false);
+                rebuild();
+            }, rebuildDelayMs, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // In chiusura: nessun rebuild, le letture restano sullo snapshot corrente
+            rebuildPending.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    /**
+     * Ricarica tutti i post pubblicati e sostituisce lo snapshot.
+     * Sincronizzato: rebuild concorrenti non possono sovrascrivere uno snapshot più recente con uno più vecchio.
+     */
+    public synchronized void rebuild() {
+        try {
+            Map<String, List<Entry>> loaded = readTransaction.execute(status -> load());
+            snapshot.set(loaded);
+            log.debug("PublishedPostReadModel: snapshot ricostruito ({} locale)", loaded != null ? loaded.size() : 0);
+        } catch (Exception e) {
+            snapshot.set(null);
+            log.error("PublishedPostReadModel: rebuild fallito, letture pubbliche servite dal DB", e);
+        }
+    }
+
+    /**
+     * Pagina di post pubblicati per locale con gli stessi filtri di
+     * {@link PostRepository#findPublishedByLocaleWithFilters}: titolo "contains" case-insensitive
+     * e intervallo (inclusivo) sulla data di creazione.
+     *
+     * @return pagina calcolata in memoria, oppure empty se lo snapshot non è disponibile
+     */
+    public Optional<Page<PostPublicResponse>> findPage(String locale,
+                                                       Pageable pageable,
+                                                       String titleSearch,
+                                                       Instant createdFrom,
+                                                       Instant createdTo) {
+        Map<String, List<Entry>> current = snapshot.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        String needle = titleSearch != null && !titleSearch.isBlank()
+                ? titleSearch.trim().toLowerCase(Locale.ROOT)
+                : null;
+        List<PostPublicResponse> matches = new ArrayList<>();
+        for (Entry entry : current.getOrDefault(locale, List.of())) {
+            if (entry.matches(needle, createdFrom, createdTo)) {
+                matches.add(entry.response());
+            }
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return Optional.of(new PageImpl<>(List.copyOf(matches.subList(from, to)), pageable, matches.size()));
+    }
+
+    /**
+     * Variante keyset: fino a {@code limit} post successivi al cursore (null = dall'inizio),
+     * nell'ordinamento (createdAt, id) desc, con gli stessi filtri di {@link #findPage}.
+     *
+     * @return elementi trovati, oppure empty se lo snapshot non è disponibile
+     */
+    public Optional<List<PostPublicResponse>> findAfter(String locale,
+                                                        KeysetCursor after,
+                                                        int limit,
+                                                        String titleSearch,
+                                                        Instant createdFrom,
+                                                        Instant createdTo) {
+        Map<String, List<Entry>> current = snapshot.get();
+        if (current == null) {
+            return Optional.empty();
+        }
+        String needle = titleSearch != null && !titleSearch.isBlank()
+                ? titleSearch.trim().toLowerCase(Locale.ROOT)
+                : null;
+        List<PostPublicResponse> result = new ArrayList<>(limit);
+        for (Entry entry : current.getOrDefault(locale, List.of())) {
+            if (result.size() >= limit) {
+                break;
+            }
+            PostPublicResponse r = entry.response();
+            if ((after == null || after.precedes(r.getCreatedAt(), r.getId()))
+                    && entry.matches(needle, createdFrom, createdTo)) {
+                result.add(r);
+            }
+        }
+        return Optional.of(result);
+    }
+
+    private Map<String, List<Entry>> load() {
+        Map<String, List<Entry>> byLocale = new HashMap<>();
+        for (Post post : postRepository.findByStatusWithTranslationsOrderByCreatedAtDesc(STATUS_PUBLISHED)) {
+            for (PostTranslation t : post.getTranslations()) {
+                PostPublicResponse response = PostPublicResponse.builder()
+                        .id(post.getId())
+                        .slug(t.getSlug())
+                        .title(t.getTitle())
+                        .content(t.getContent())
+                        .locale(t.getLocale())
+                        .createdAt(post.getCreatedAt())
+                        .build();
+                String titleLower = t.getTitle() != null ? t.getTitle().toLowerCase(Locale.ROOT) : "";
+                byLocale.computeIfAbsent(t.getLocale(), k -> new ArrayList<>()).add(new Entry(response, titleLower));
+            }
+        }
+        Map<String, List<Entry>> result = new HashMap<>();
+        byLocale.forEach((locale, entries) -> {
+            entries.sort(NEWEST_FIRST);
+            result.put(locale, List.copyOf(entries));
+        });
+        return Map.copyOf(result);
+    }
+
+    /** Riga del read model: DTO pubblico + titolo già in minuscolo per il filtro "contains". */
+    private record Entry(PostPublicResponse response, String titleLower) {
+
+        boolean matches(String needle, Instant createdFrom, Instant createdTo) {
+            if (needle != null && !titleLower.contains(needle)) {
+                return false;
+            }
+            Instant createdAt = response.getCreatedAt();
+            if (createdFrom != null && (createdAt == null || createdAt.isBefore(createdFrom))) {
+                return false;
+            }
+            return createdTo == null || (createdAt != null && !createdAt.isAfter(createdTo));
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.repository.PostTranslationRepository;
+import com.portfolio.backend.repository.TranslationSlugRow;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Assegna slug univoci alle traduzioni di una richiesta (create/update/patch) in un solo passaggio.
+ * Se lo slug è già usato da un'altra traduzione si prova "slug-locale", poi "slug-locale-1", "slug-locale-2", …
+ * Tutti gli slug che possono collidere vengono letti con una sola query per prefisso (solo id e slug); i candidati
+ * vengono poi scelti in memoria, evitando anche collisioni tra traduzioni della stessa richiesta.
+ */
+@Service
+public class TranslationSlugAllocator {
+
+    private final PostTranslationRepository postTranslationRepository;
+
+    public TranslationSlugAllocator(PostTranslationRepository postTranslationRepository) {
+        this.postTranslationRepository = postTranslationRepository;
+    }
+
+    /**
+     * Slug richiesto per una traduzione.
+     *
+     * @param slug          slug di partenza (già normalizzato)
+     * @param locale        locale della traduzione, usato per il suffisso
+     * @param translationId id della traduzione se già esistente (il suo slug attuale non conta come collisione), altrimenti null
+     */
+    public record SlugRequest(String slug, String locale, String translationId) {
+    }
+
+    /**
+     * @return slug univoci, nello stesso ordine delle richieste
+     */
+    @Transactional(readOnly = true)
+    public List<String> allocate(List<SlugRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        Set<String> bases = new LinkedHashSet<>();
+        requests.forEach(r -> bases.add(r.slug()));
+        // slug -> id della traduzione che lo occupa (null = assegnato a una traduzione nuova di questa richiesta)
+        Map<String, String> taken = new HashMap<>();
+        for (TranslationSlugRow row : postTranslationRepository.findSlugsEqualOrExtending(bases)) {
+            taken.put(row.slug(), row.id());
+        }
+        List<String> result = new ArrayList<>(requests.size());
+        for (SlugRequest request : requests) {
+            String slug = firstFree(request, taken);
+            taken.put(slug, request.translationId());
+            result.add(slug);
+        }
+        return result;
+    }
+
+    /** Come {@link #allocate(List)} per una sola traduzione. */
+    @Transactional(readOnly = true)
+    public String allocate(String slug, String locale, String translationId) {
+        return allocate(List.of(new SlugRequest(slug, locale, translationId))).get(0);
+    }
+
+    private static String firstFree(SlugRequest request, Map<String, String> taken) {
+        String candidate = request.slug();
+        int n = 0;
+        while (!isFree(candidate, request.translationId(), taken)) {
+            candidate = n == 0
+                    ? request.slug() + "-" + request.locale()
+                    : request.slug() + "-" + request.locale() + "-" + n;
+            n++;
+        }
+        return candidate;
+    }
+
+    private static boolean isFree(String candidate, String translationId, Map<String, String> taken) {
+        if (!taken.containsKey(candidate)) {
+            return true;
+        }
+        String owner = taken.get(candidate);
+        return translationId != null && Objects.equals(owner, translationId);
+    }
+}
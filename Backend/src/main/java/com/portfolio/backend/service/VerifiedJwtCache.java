@@ -0,0 +1,96 @@
+package com.portfolio.backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+
+/**
+ * Claim dei JWT già verificati, per non rifare parsing e verifica HMAC a ogni richiesta dello stesso token.
+ * La chiave è l'hash SHA-256 del token (il token in chiaro non resta in memoria) e ogni voce scade
+ * all'exp del token, quindi un token scaduto non viene mai restituito; un token firmato con una chiave tolta
+ * da {@link JwtKeyRing} non viene più accettato. La revoca non dipende da questa cache:
+ * la token_version viene confrontata a ogni richiesta con {@link AdminTokenVersionRegistry}.
+ */
+@Component
+public class VerifiedJwtCache {
+
+    private static final String HASH_ALGORITHM = "SHA-256";
+
+    private final JwtService jwtService;
+    private final JwtKeyRing keyRing;
+    private final Cache<String, JwtService.JwtClaims> claimsByTokenHash;
+
+    public VerifiedJwtCache(JwtService jwtService,
+                            JwtKeyRing keyRing,
+                            @Value("${app.security.jwt-cache-size:10000}") long maxEntries) {
+        this.jwtService = jwtService;
+        this.keyRing = keyRing;
+        this.claimsByTokenHash = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .build();
+    }
+
+    /** Ogni voce scade all'exp del token; letture e aggiornamenti non ne cambiano la scadenza. */
+    private static final class ExpireAtTokenExpiry implements Expiry<String, JwtService.JwtClaims> {
+
+        private static final Duration MAX_TTL = Duration.ofDays(365);
+
+        @Override
+        public long expireAfterCreate(String key, JwtService.JwtClaims claims, long currentTime) {
+            Duration ttl = Duration.between(Instant.now(), claims.expiresAt());
+            if (ttl.isNegative()) {
+                return 0L;
+            }
+            // toNanos() va in overflow oltre ~292 anni
+            return ttl.compareTo(MAX_TTL) > 0 ? MAX_TTL.toNanos() : ttl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtService.JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtService.JwtClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * Claim del token, dalla cache o verificandolo con {@link JwtService#parseClaims}.
+     *
+     * @throws io.jsonwebtoken.JwtException se il token non è valido o è scaduto
+     */
+    public JwtService.JwtClaims verify(String token) {
+        String key = hash(token);
+        JwtService.JwtClaims cached = claimsByTokenHash.getIfPresent(key);
+        if (cached != null && keyRing.isActive(cached.keyId())) {
+            return cached;
+        }
+        JwtService.JwtClaims claims = jwtService.parseClaims(token);
+        // Senza exp non c'è un limite alla validità: il token non viene messo in cache
+        if (claims.expiresAt() != null) {
+            claimsByTokenHash.put(key, claims);
+        }
+        return claims;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance(HASH_ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(HASH_ALGORITHM + " non disponibile", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.portfolio.backend.service.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Store in memoria: un {@link InMemoryRateLimiter} per policy, con le chiavi in un {@link RateLimitKeyCache}
+ * limitato a {@code maxKeys}. Con più istanze ogni istanza applica il limite per conto proprio.
+ */
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    private final MeterRegistry meterRegistry;
+    private final long maxKeys;
+
+    /**
+     * @param meterRegistry registry Micrometer, null per non registrare metriche
+     * @param maxKeys       chiavi massime per policy
+     */
+    public InMemoryRateLimitStore(MeterRegistry meterRegistry, long maxKeys) {
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = maxKeys;
+    }
+
+    @Override
+    public RateLimiter limiter(RateLimitPolicy policy) {
+        return new InMemoryRateLimiter(
+                policy,
+                System::nanoTime,
+                RateLimitKeyCache.build(policy.name(), policy.window(), maxKeys, meterRegistry));
+    }
+}
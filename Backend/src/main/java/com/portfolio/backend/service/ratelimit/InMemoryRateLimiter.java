@@ -0,0 +1,60 @@
+package com.portfolio.backend.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * {@link RateLimiter} in memoria di una singola {@link RateLimitPolicy} ({@link InMemoryRateLimitStore}).
+ * <p>
+ * Algoritmo GCRA (Generic Cell Rate Algorithm): per ogni chiave si memorizza solo il
+ * "theoretical arrival time" (TAT) in un {@link AtomicLong}. Una richiesta è ammessa se, spostando il TAT
+ * avanti di un intervallo (finestra / maxRequests), non supera {@code now + finestra}; l'aggiornamento
+ * è un compare-and-set, senza lock né allocazioni dopo il primo accesso della chiave.
+ * Equivale a un token bucket di capacità maxRequests che si ricarica di una richiesta ogni intervallo.
+ * <p>
+ * Lo stato sta in un {@link RateLimitKeyCache}: dopo un'intera finestra senza richieste il TAT è nel passato
+ * e la chiave equivale a una nuova, quindi rimuoverla per inattività non cambia le decisioni.
+ */
+final class InMemoryRateLimiter implements RateLimiter {
+
+    /** TAT iniziale: qualsiasi istante reale è successivo, quindi una chiave nuova parte a bucket pieno. */
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final RateLimitPolicy policy;
+    private final long intervalNanos;
+    private final long windowNanos;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> stateByKey;
+
+    InMemoryRateLimiter(RateLimitPolicy policy, LongSupplier clock, Cache<String, AtomicLong> stateByKey) {
+        this.policy = policy;
+        this.intervalNanos = policy.emissionIntervalNanos();
+        this.windowNanos = intervalNanos * policy.maxRequests();
+        this.clock = clock;
+        this.stateByKey = stateByKey;
+    }
+
+    @Override
+    public RateLimitPolicy policy() {
+        return policy;
+    }
+
+    @Override
+    public boolean tryAcquire(String key) {
+        // Cache.get con funzione: nessuna allocazione se la chiave esiste (lambda senza catture)
+        AtomicLong tat = stateByKey.get(key, k -> new AtomicLong(EMPTY));
+        long now = clock.getAsLong();
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + intervalNanos;
+            if (next - now > windowNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
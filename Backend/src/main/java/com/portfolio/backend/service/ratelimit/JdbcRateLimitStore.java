@@ -0,0 +1,177 @@
+package com.portfolio.backend.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+
+/**
+ * Store condiviso sul datasource dell'applicazione (tabella rate_limit_state, migrazione V4):
+ * il limite vale per tutte le istanze che usano lo stesso database.
+ * <p>
+ * Ogni riga (policy, chiave) contiene il TAT del GCRA in millisecondi. Invece di un permesso per richiesta
+ * un'istanza ne prenota un lotto ("lease") con un solo upsert atomico
+ * ({@code INSERT … ON CONFLICT DO UPDATE … RETURNING}, stessa sintassi su SQLite ≥ 3.35 e PostgreSQL)
+ * e lo consuma in locale per al massimo {@code leaseTtl}; i permessi non usati entro la scadenza vanno persi,
+ * quindi il limite globale non viene mai superato (al più è più severo). Anche un rifiuto viene ricordato
+ * in locale fino a quando il DB avrà di nuovo un permesso libero: un IP che martella non genera query.
+ * <p>
+ * Il lotto è al più un decimo di maxRequests (minimo 1), così le policy con pochi permessi
+ * (login, contatti) non li concentrano su una sola istanza. Se il database non risponde la decisione
+ * passa a un limiter in memoria della singola istanza.
+ */
+public class JdbcRateLimitStore implements RateLimitStore {
+
+    private static final Logger log = LoggerFactory.getLogger(JdbcRateLimitStore.class);
+
+    /** Permessi disponibili sulla riga esistente all'istante :now (mai negativi, anche se la finestra è cambiata). */
+    private static final String AVAILABLE =
+            "%1$s(0, (:window - %1$s(rate_limit_state.tat_ms - :now, 0)) / :interval)";
+
+    private static final String CLAIM = """
+            INSERT INTO rate_limit_state (policy, bucket_key, tat_ms, granted)
+            VALUES (:policy, :key, :now + :lease * :interval, :lease)
+            ON CONFLICT (policy, bucket_key) DO UPDATE SET
+              granted = %2$s(:lease, %3$s),
+              tat_ms = %1$s(rate_limit_state.tat_ms, :now) + %2$s(:lease, %3$s) * :interval
+            RETURNING tat_ms, granted
+            """;
+
+    private static final String PURGE = "DELETE FROM rate_limit_state WHERE tat_ms < :now";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String claimSql;
+    private final int maxLeaseSize;
+    private final long leaseTtlMs;
+    private final long maxKeys;
+    private final MeterRegistry meterRegistry;
+    private final InMemoryRateLimitStore fallback;
+
+    /**
+     * @param postgres      true con PostgreSQL (GREATEST/LEAST), false con SQLite (MAX/MIN scalari)
+     * @param maxLeaseSize  permessi massimi prenotati per query
+     * @param leaseTtl      validità locale dei permessi prenotati
+     * @param maxKeys       chiavi massime tenute in memoria per policy (lease locali e fallback)
+     * @param meterRegistry registry Micrometer, null per non registrare metriche
+     */
+    public JdbcRateLimitStore(NamedParameterJdbcTemplate jdbcTemplate, boolean postgres, int maxLeaseSize,
+                              Duration leaseTtl, long maxKeys, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        String greatest = postgres ? "GREATEST" : "MAX";
+        String least = postgres ? "LEAST" : "MIN";
+        this.claimSql = CLAIM.formatted(greatest, least, AVAILABLE.formatted(greatest));
+        this.maxLeaseSize = Math.max(1, maxLeaseSize);
+        this.leaseTtlMs = leaseTtl.toMillis();
+        this.maxKeys = maxKeys;
+        this.meterRegistry = meterRegistry;
+        this.fallback = new InMemoryRateLimitStore(meterRegistry, maxKeys);
+    }
+
+    @Override
+    public RateLimiter limiter(RateLimitPolicy policy) {
+        int leaseSize = Math.min(maxLeaseSize, Math.max(1, policy.maxRequests() / 10));
+        Cache<String, Lease> leases = RateLimitKeyCache.build(
+                policy.name() + ".lease", policy.window(), maxKeys, meterRegistry);
+        return new JdbcRateLimiter(policy, leaseSize, leases, fallback.limiter(policy));
+    }
+
+    /**
+     * Rimuove le righe con TAT nel passato: equivalgono a chiavi nuove, quindi la pulizia non cambia le decisioni.
+     */
+    @Scheduled(fixedDelayString = "${app.rate-limit.database.purge-ms:600000}")
+    public void purgeExpired() {
+        try {
+            int deleted = jdbcTemplate.update(PURGE, new MapSqlParameterSource("now", System.currentTimeMillis()));
+            if (deleted > 0) {
+                log.debug("Rate limit: rimosse {} chiavi scadute", deleted);
+            }
+        } catch (DataAccessException e) {
+            log.warn("Rate limit: pulizia rate_limit_state fallita: {}", e.getMessage());
+        }
+    }
+
+    /** Permessi prenotati da questa istanza per una chiave. Accesso sincronizzato sull'oggetto. */
+    private static final class Lease {
+        int remaining;
+        long expiresAtMs;
+        long deniedUntilMs;
+    }
+
+    private final class JdbcRateLimiter implements RateLimiter {
+
+        private final RateLimitPolicy policy;
+        private final int leaseSize;
+        private final long intervalMs;
+        private final long windowMs;
+        private final Cache<String, Lease> leases;
+        private final RateLimiter fallbackLimiter;
+
+        JdbcRateLimiter(RateLimitPolicy policy, int leaseSize, Cache<String, Lease> leases, RateLimiter fallbackLimiter) {
+            this.policy = policy;
+            this.leaseSize = leaseSize;
+            this.intervalMs = Math.max(1L, policy.window().toMillis() / policy.maxRequests());
+            this.windowMs = intervalMs * policy.maxRequests();
+            this.leases = leases;
+            this.fallbackLimiter = fallbackLimiter;
+        }
+
+        @Override
+        public RateLimitPolicy policy() {
+            return policy;
+        }
+
+        @Override
+        public boolean tryAcquire(String key) {
+            Lease lease = leases.get(key, k -> new Lease());
+            // Un solo claim alla volta per chiave su questa istanza: le richieste concorrenti usano il lotto appena preso
+            synchronized (lease) {
+                long now = System.currentTimeMillis();
+                if (lease.remaining > 0 && now < lease.expiresAtMs) {
+                    lease.remaining--;
+                    return true;
+                }
+                if (now < lease.deniedUntilMs) {
+                    return false;
+                }
+                long[] claim;
+                try {
+                    claim = claim(key, now);
+                } catch (DataAccessException e) {
+                    log.warn("Rate limit {}: database non disponibile, limite locale: {}", policy.name(), e.getMessage());
+                    return fallbackLimiter.tryAcquire(key);
+                }
+                long tatMs = claim[0];
+                int granted = (int) claim[1];
+                if (granted > 0) {
+                    lease.remaining = granted - 1;
+                    lease.expiresAtMs = now + leaseTtlMs;
+                    lease.deniedUntilMs = 0;
+                    return true;
+                }
+                // Il prossimo permesso si libera quando tat + intervallo rientra nella finestra
+                lease.remaining = 0;
+                lease.deniedUntilMs = tatMs + intervalMs - windowMs;
+                return false;
+            }
+        }
+
+        /** @return {tat_ms, permessi concessi} dopo l'upsert */
+        private long[] claim(String key, long now) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("policy", policy.name())
+                    .addValue("key", key)
+                    .addValue("now", now)
+                    .addValue("lease", (long) leaseSize)
+                    .addValue("interval", intervalMs)
+                    .addValue("window", windowMs);
+            return jdbcTemplate.queryForObject(claimSql, params,
+                    (rs, rowNum) -> new long[] {rs.getLong("tat_ms"), rs.getLong("granted")});
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.portfolio.backend.service.ratelimit;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Motore unico di rate limiting: un {@link RateLimiter} per ogni policy con nome.
+ * Le policy vengono registrate dalle configurazioni dei filtri (es. {@code ContactRateLimitConfig})
+ * con i limiti letti da application.yml; i filtri tengono il proprio {@link RateLimiter} e non cercano
+ * la policy per nome a ogni richiesta. Dove sta lo stato lo decide il {@link RateLimitStore}
+ * ({@code app.rate-limit.store}, vedi {@code RateLimitStoreConfig}).
+ */
+@Component
+public class RateLimitEngine {
+
+    private final Map<String, RateLimiter> limiters = new ConcurrentHashMap<>();
+    private final RateLimitStore store;
+
+    public RateLimitEngine(RateLimitStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Registra la policy e restituisce il relativo limiter.
+     *
+     * @throws IllegalStateException se esiste già una policy con lo stesso nome ma limiti diversi
+     */
+    public RateLimiter register(RateLimitPolicy policy) {
+        RateLimiter limiter = limiters.computeIfAbsent(policy.name(), name -> store.limiter(policy));
+        if (!limiter.policy().equals(policy)) {
+            throw new IllegalStateException("Policy di rate limit già registrata con limiti diversi: " + policy.name());
+        }
+        return limiter;
+    }
+
+    /**
+     * Limiter di una policy già registrata.
+     *
+     * @throws IllegalArgumentException se la policy non esiste
+     */
+    public RateLimiter limiter(String policyName) {
+        RateLimiter limiter = limiters.get(policyName);
+        if (limiter == null) {
+            throw new IllegalArgumentException("Policy di rate limit sconosciuta: " + policyName);
+        }
+        return limiter;
+    }
+}
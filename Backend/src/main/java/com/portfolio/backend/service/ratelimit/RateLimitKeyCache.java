@@ -0,0 +1,47 @@
+package com.portfolio.backend.service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+
+/**
+ * Store limitato per lo stato per-chiave dei rate limiter (chiave = IP o username).
+ * <p>
+ * Ogni header X-Forwarded-For diverso crea una chiave: senza limiti la mappa cresce all'infinito.
+ * Qui la dimensione è limitata a {@code maxKeys} (evizione W-TinyLFU di Caffeine: le chiavi viste
+ * una sola volta escono per prime, gli IP che martellano restano tracciati) e una chiave inattiva
+ * per {@code idleExpiry} viene rimossa. Dimensione, hit ed evizioni sono esposte come metriche
+ * {@code cache.*} con tag {@code cache=rate-limit.<nome>}.
+ */
+public final class RateLimitKeyCache {
+
+    private static final String METRIC_PREFIX = "rate-limit.";
+
+    private RateLimitKeyCache() {
+    }
+
+    /**
+     * @param name       nome del limiter (tag delle metriche)
+     * @param idleExpiry inattività dopo cui la chiave è dimenticata; scegliere un valore dopo il quale
+     *                   lo stato equivale a quello di una chiave nuova (es. la finestra del limite)
+     * @param maxKeys    numero massimo di chiavi
+     * @param registry   registry Micrometer, null per non registrare metriche
+     */
+    public static <V> Cache<String, V> build(String name, Duration idleExpiry, long maxKeys, MeterRegistry registry) {
+        Cache<String, V> cache = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                // Rimozione delle chiavi scadute anche senza traffico (thread di sistema condiviso)
+                .scheduler(Scheduler.systemScheduler())
+                .maximumSize(maxKeys)
+                .recordStats()
+                .build();
+        if (registry != null) {
+            CaffeineCacheMetrics.monitor(registry, cache, METRIC_PREFIX + name);
+        }
+        return cache;
+    }
+}
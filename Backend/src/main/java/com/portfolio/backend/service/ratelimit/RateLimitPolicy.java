@@ -0,0 +1,32 @@
+package com.portfolio.backend.service.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Policy di rate limiting: al massimo {@code maxRequests} richieste per chiave in {@code window}.
+ * Il nome identifica la policy nel {@link RateLimitEngine} (es. "contact", "admin-login").
+ *
+ * @param name        nome della policy
+ * @param maxRequests richieste ammesse per finestra (anche tutte insieme, come burst)
+ * @param window      durata della finestra
+ */
+public record RateLimitPolicy(String name, int maxRequests, Duration window) {
+
+    public RateLimitPolicy {
+        if (maxRequests <= 0) {
+            throw new IllegalArgumentException("maxRequests deve essere > 0 per la policy " + name);
+        }
+        if (window == null || window.isZero() || window.isNegative()) {
+            throw new IllegalArgumentException("window deve essere > 0 per la policy " + name);
+        }
+    }
+
+    public static RateLimitPolicy of(String name, int maxRequests, long windowSeconds) {
+        return new RateLimitPolicy(name, maxRequests, Duration.ofSeconds(windowSeconds));
+    }
+
+    /** Intervallo tra due richieste a regime (finestra / maxRequests), in nanosecondi. */
+    long emissionIntervalNanos() {
+        return Math.max(1L, window.toNanos() / maxRequests);
+    }
+}
@@ -0,0 +1,19 @@
+package com.portfolio.backend.service.ratelimit;
+
+/**
+ * Dove vive lo stato dei rate limiter, scelto con {@code app.rate-limit.store}:
+ * <ul>
+ *   <li>{@code memory} ({@link InMemoryRateLimitStore}): stato nel processo, limiti per singola istanza;</li>
+ *   <li>{@code database} ({@link JdbcRateLimitStore}): tabella rate_limit_state sul datasource dell'applicazione,
+ *       limiti condivisi tra istanze;</li>
+ *   <li>{@code redis} ({@link RedisRateLimitStore}): qualsiasi server compatibile Redis, limiti condivisi tra istanze.</li>
+ * </ul>
+ * Tutte le implementazioni applicano lo stesso algoritmo (GCRA, vedi {@link InMemoryRateLimiter}).
+ */
+public interface RateLimitStore {
+
+    /**
+     * Crea il limiter di una policy. Chiamato una sola volta per policy dal {@link RateLimitEngine}.
+     */
+    RateLimiter limiter(RateLimitPolicy policy);
+}
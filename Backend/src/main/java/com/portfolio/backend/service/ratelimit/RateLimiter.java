@@ -0,0 +1,17 @@
+package com.portfolio.backend.service.ratelimit;
+
+/**
+ * Rate limiter di una singola {@link RateLimitPolicy}, ottenuto da {@link RateLimitEngine#register}.
+ * L'implementazione dipende dal {@link RateLimitStore} configurato (memoria locale, database condiviso, Redis).
+ */
+public interface RateLimiter {
+
+    RateLimitPolicy policy();
+
+    /**
+     * Consuma una richiesta per la chiave (es. IP o username).
+     *
+     * @return true se la richiesta è ammessa, false se il limite è superato (il chiamante risponde 429)
+     */
+    boolean tryAcquire(String key);
+}
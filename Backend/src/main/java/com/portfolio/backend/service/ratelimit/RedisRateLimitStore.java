@@ -0,0 +1,182 @@
+package com.portfolio.backend.service.ratelimit;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.api.sync.RedisCommands;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Store condiviso su un server compatibile Redis (Redis, Valkey, KeyDB, …): il limite vale per tutte
+ * le istanze collegate allo stesso server. In locale basta un container (es. {@code docker run -p 6379:6379 valkey/valkey})
+ * e {@code app.rate-limit.redis.uri=redis://localhost:6379}.
+ * <p>
+ * Il GCRA gira in uno script Lua (atomico sul server, un round trip per richiesta) con l'orologio del server
+ * ({@code TIME}, microsecondi), quindi gli orologi delle istanze non contano. La chiave
+ * {@code <prefix><policy>:<chiave>} scade da sola quando il TAT torna nel passato.
+ * Se il server non risponde la decisione passa a un limiter in memoria della singola istanza.
+ * <p>
+ * La connessione viene aperta al primo uso, non all'avvio: con il server giù l'applicazione parte comunque
+ * e usa il limiter locale, riprovando a connettersi al più ogni {@value #RECONNECT_DELAY_MS} ms.
+ * Una volta aperta, la connessione si riconnette da sola (lettuce) e lo script viene ricaricato su NOSCRIPT.
+ */
+public class RedisRateLimitStore implements RateLimitStore, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(RedisRateLimitStore.class);
+
+    /** ARGV[1] = intervallo, ARGV[2] = finestra (microsecondi). Restituisce 1 se ammessa, 0 se rifiutata. */
+    private static final String GCRA_SCRIPT = """
+            local t = redis.call('TIME')
+            local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+            local interval = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local tat = tonumber(redis.call('GET', KEYS[1])) or now
+            if tat < now then tat = now end
+            local nxt = tat + interval
+            if nxt - now > window then return 0 end
+            redis.call('SET', KEYS[1], string.format('%.0f', nxt), 'PX', math.ceil((nxt - now) / 1000))
+            return 1
+            """;
+
+    /** Pausa tra due tentativi di connessione falliti: nel frattempo le richieste vanno al limiter locale. */
+    private static final long RECONNECT_DELAY_MS = 5_000;
+
+    private final RedisClient client;
+    private final String keyPrefix;
+    private final InMemoryRateLimitStore fallback;
+    private final AtomicBoolean connecting = new AtomicBoolean();
+    private volatile StatefulRedisConnection<String, String> connection;
+    private volatile RedisCommands<String, String> commands;
+    private volatile String scriptSha;
+    private volatile long nextConnectAttemptMs;
+    private volatile boolean closed;
+
+    /**
+     * @param uri           URI del server (es. redis://localhost:6379, rediss://:password@host:6380/0)
+     * @param timeout       timeout dei comandi: oltre, la richiesta viene decisa dal limiter locale
+     * @param keyPrefix     prefisso delle chiavi, per condividere il server con altri usi
+     * @param maxKeys       chiavi massime per policy del limiter locale di riserva
+     * @param meterRegistry registry Micrometer, null per non registrare metriche
+     */
+    public RedisRateLimitStore(String uri, Duration timeout, String keyPrefix, long maxKeys, MeterRegistry meterRegistry) {
+        RedisURI redisUri = RedisURI.create(uri);
+        redisUri.setTimeout(timeout);
+        this.client = RedisClient.create(redisUri);
+        // Timeout applicato a ogni comando, anche se la connessione resta appesa
+        this.client.setOptions(ClientOptions.builder()
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .build());
+        this.keyPrefix = keyPrefix;
+        this.fallback = new InMemoryRateLimitStore(meterRegistry, maxKeys);
+    }
+
+    @Override
+    public RateLimiter limiter(RateLimitPolicy policy) {
+        return new RedisRateLimiter(policy, fallback.limiter(policy));
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        StatefulRedisConnection<String, String> current = connection;
+        if (current != null) {
+            current.close();
+        }
+        client.shutdown();
+    }
+
+    /**
+     * Comandi sulla connessione condivisa, aprendola se serve. Un solo thread tenta la connessione;
+     * gli altri, e tutti durante la pausa dopo un tentativo fallito, ricevono null e usano il limiter locale.
+     */
+    private RedisCommands<String, String> commands() {
+        RedisCommands<String, String> current = commands;
+        if (current != null || closed || System.currentTimeMillis() < nextConnectAttemptMs
+                || !connecting.compareAndSet(false, true)) {
+            return current;
+        }
+        try {
+            if (commands != null) {
+                return commands;
+            }
+            StatefulRedisConnection<String, String> opened = client.connect();
+            try {
+                scriptSha = opened.sync().scriptLoad(GCRA_SCRIPT);
+            } catch (RedisException e) {
+                opened.close();
+                throw e;
+            }
+            connection = opened;
+            commands = opened.sync();
+            log.info("Rate limit: connesso a Redis");
+            return commands;
+        } catch (RedisException e) {
+            nextConnectAttemptMs = System.currentTimeMillis() + RECONNECT_DELAY_MS;
+            log.warn("Rate limit: Redis non raggiungibile, limite locale per {} ms: {}", RECONNECT_DELAY_MS, e.getMessage());
+            return null;
+        } finally {
+            connecting.set(false);
+        }
+    }
+
+    private Long evalGcra(RedisCommands<String, String> redis, String key, String intervalMicros, String windowMicros) {
+        String[] keys = {key};
+        try {
+            return redis.evalsha(scriptSha, ScriptOutputType.INTEGER, keys, intervalMicros, windowMicros);
+        } catch (RedisException e) {
+            if (e.getMessage() == null || !e.getMessage().startsWith("NOSCRIPT")) {
+                throw e;
+            }
+            // Cache degli script svuotata (riavvio o SCRIPT FLUSH): ricarica e riprova una volta
+            scriptSha = redis.scriptLoad(GCRA_SCRIPT);
+            return redis.evalsha(scriptSha, ScriptOutputType.INTEGER, keys, intervalMicros, windowMicros);
+        }
+    }
+
+    private final class RedisRateLimiter implements RateLimiter {
+
+        private final RateLimitPolicy policy;
+        private final String keyPrefix;
+        private final String intervalMicros;
+        private final String windowMicros;
+        private final RateLimiter fallbackLimiter;
+
+        RedisRateLimiter(RateLimitPolicy policy, RateLimiter fallbackLimiter) {
+            long interval = Math.max(1L, policy.window().toNanos() / 1_000 / policy.maxRequests());
+            this.policy = policy;
+            this.keyPrefix = RedisRateLimitStore.this.keyPrefix + policy.name() + ":";
+            this.intervalMicros = Long.toString(interval);
+            this.windowMicros = Long.toString(interval * policy.maxRequests());
+            this.fallbackLimiter = fallbackLimiter;
+        }
+
+        @Override
+        public RateLimitPolicy policy() {
+            return policy;
+        }
+
+        @Override
+        public boolean tryAcquire(String key) {
+            RedisCommands<String, String> redis = commands();
+            if (redis == null) {
+                return fallbackLimiter.tryAcquire(key);
+            }
+            try {
+                Long allowed = evalGcra(redis, keyPrefix + key, intervalMicros, windowMicros);
+                return allowed != null && allowed == 1L;
+            } catch (RedisException e) {
+                log.warn("Rate limit {}: Redis non disponibile, limite locale: {}", policy.name(), e.getMessage());
+                return fallbackLimiter.tryAcquire(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.portfolio.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Cursore opaco per la paginazione keyset su (createdAt, id), ordinamento decrescente.
+ * Serializzato come Base64 URL-safe di "createdAt|id": il client lo restituisce così com'è nel parametro cursor.
+ *
+ * @param createdAt createdAt dell'ultimo elemento restituito
+ * @param id        id dell'ultimo elemento restituito (tie-break a parità di createdAt)
+ */
+public record KeysetCursor(Instant createdAt, String id) {
+
+    private static final char SEPARATOR = '|';
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursore prodotto da {@link #encode()}.
+     *
+     * @throws IllegalArgumentException se il cursore non è valido
+     */
+    public static KeysetCursor decode(String value) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(value.trim()), StandardCharsets.UTF_8);
+            int sep = raw.indexOf(SEPARATOR);
+            if (sep <= 0 || sep == raw.length() - 1) {
+                throw new IllegalArgumentException("Cursore non valido.");
+            }
+            return new KeysetCursor(Instant.parse(raw.substring(0, sep)), raw.substring(sep + 1));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursore non valido.", e);
+        }
+    }
+
+    /**
+     * True se l'elemento (createdAt, id) viene dopo questo cursore nell'ordinamento createdAt desc, id desc.
+     */
+    public boolean precedes(Instant otherCreatedAt, String otherId) {
+        if (otherCreatedAt == null) {
+            return false;
+        }
+        int cmp = otherCreatedAt.compareTo(createdAt);
+        return cmp < 0 || (cmp == 0 && otherId != null && otherId.compareTo(id) < 0);
+    }
+}
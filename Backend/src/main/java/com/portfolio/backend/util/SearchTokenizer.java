@@ -0,0 +1,33 @@
+package com.portfolio.backend.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Tokenizzazione per l'indice di ricerca in memoria: accenti rimossi come in {@link SlugUtil#slugify},
+ * minuscolo, separazione su tutto ciò che non è lettera o cifra.
+ * Esempio: "Perché Spring Boot 3?" → [perche, spring, boot, 3]
+ */
+public final class SearchTokenizer {
+
+    private static final Pattern NON_LETTER_OR_DIGIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = SlugUtil.foldAccents(text).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : NON_LETTER_OR_DIGIT.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
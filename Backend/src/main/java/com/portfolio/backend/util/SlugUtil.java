@@ -12,6 +12,7 @@ public final class SlugUtil {
 
     private static final Pattern NON_LETTER_OR_HYPHEN = Pattern.compile("[^a-z\\-]+");
     private static final Pattern MULTIPLE_HYPHENS = Pattern.compile("-+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}");
 
     private SlugUtil() {
     }
@@ -24,11 +25,21 @@ public final class SlugUtil {
         if (title == null || title.isBlank()) {
             return "";
         }
-        String nfd = Normalizer.normalize(title.trim(), Normalizer.Form.NFD);
-        String noAccents = nfd.replaceAll("\\p{M}", "");
-        String lower = noAccents.toLowerCase(Locale.ROOT);
+        String lower = foldAccents(title.trim()).toLowerCase(Locale.ROOT);
         String noSpecial = NON_LETTER_OR_HYPHEN.matcher(lower).replaceAll("-");
         String singleHyphen = MULTIPLE_HYPHENS.matcher(noSpecial).replaceAll("-");
         return singleHyphen.replaceAll("^-|-$", "");
     }
+
+    /**
+     * Rimuove gli accenti (decomposizione NFD + eliminazione dei segni diacritici): "perché" → "perche".
+     * Usato anche dall'indice di ricerca, così slug e termini cercati sono normalizzati allo stesso modo.
+     */
+    public static String foldAccents(String text) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String nfd = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(nfd).replaceAll("");
+    }
 }
@@ -0,0 +1,11 @@
+-- Stato condiviso dei rate limiter (app.rate-limit.store=database): TAT del GCRA per (policy, chiave).
+CREATE TABLE IF NOT EXISTS rate_limit_state (
+  policy TEXT NOT NULL,
+  bucket_key TEXT NOT NULL,
+  tat_ms BIGINT NOT NULL,
+  granted INTEGER NOT NULL DEFAULT 0,
+  PRIMARY KEY (policy, bucket_key)
+);
+
+CREATE INDEX IF NOT EXISTS idx_rate_limit_state_tat
+  ON rate_limit_state(tat_ms);
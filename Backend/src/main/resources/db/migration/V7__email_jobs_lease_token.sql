@@ -0,0 +1,2 @@
+-- Lease token della presa in carico (EmailJobClaimRepository): identifica chi ha portato il job a IN_PROGRESS.
+ALTER TABLE email_jobs ADD COLUMN locked_by TEXT;
@@ -0,0 +1,19 @@
+-- Archivio compatto dei job email conclusi (SENT/FAILED), spostati da email_jobs dal job di data retention
+-- dopo app.email-queue.archive.after-days: la tabella della coda e i suoi indici restano piccoli.
+CREATE TABLE IF NOT EXISTS email_jobs_archive (
+  id TEXT PRIMARY KEY,
+  type TEXT NOT NULL,
+  status TEXT NOT NULL,
+  contact_id TEXT,
+  attempts INTEGER NOT NULL,
+  last_error TEXT,
+  created_at_ms BIGINT NOT NULL,
+  finished_at_ms BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_email_jobs_archive_finished_at
+  ON email_jobs_archive(finished_at_ms);
+
+-- Selezione dei job da archiviare (status terminale, ordinati per ultimo aggiornamento)
+CREATE INDEX IF NOT EXISTS idx_email_jobs_status_updated_at
+  ON email_jobs(status, updated_at_ms);
@@ -0,0 +1,18 @@
+-- Ricerca full-text su titolo (peso A) e contenuto (peso B) delle traduzioni.
+-- La configurazione di stemming dipende dal locale della riga (italian / spanish / english).
+-- Colonna generata STORED: mantenuta da PostgreSQL a ogni INSERT/UPDATE, ignorata da JPA.
+
+ALTER TABLE post_translations
+  ADD COLUMN IF NOT EXISTS search_vector tsvector
+  GENERATED ALWAYS AS (
+    setweight(to_tsvector(
+      CASE locale WHEN 'it' THEN 'italian'::regconfig WHEN 'es' THEN 'spanish'::regconfig ELSE 'english'::regconfig END,
+      coalesce(title, '')), 'A')
+    ||
+    setweight(to_tsvector(
+      CASE locale WHEN 'it' THEN 'italian'::regconfig WHEN 'es' THEN 'spanish'::regconfig ELSE 'english'::regconfig END,
+      coalesce(content, '')), 'B')
+  ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_post_translations_search_vector
+  ON post_translations USING GIN (search_vector);
@@ -0,0 +1,4 @@
+-- Accorpamento degli eventi di audit ripetuti (AuditLogCoalescer): una riga con conteggio e ultimo istante.
+-- last_seen_at con lo stesso tipo di created_at (Instant -> timestamp with time zone).
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS occurrence_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,47 @@
+-- Navigazione keyset degli audit log: colonne normalizzate, indici composti (filtro, created_at, id)
+-- e totali per azione mantenuti da trigger (niente COUNT sull'intera tabella a ogni pagina).
+
+-- Actor in minuscolo (filtro per prefisso) e action in maiuscolo (uguaglianza senza UPPER())
+ALTER TABLE audit_logs ADD COLUMN IF NOT EXISTS actor_normalized VARCHAR(255) NOT NULL DEFAULT '';
+UPDATE audit_logs SET actor_normalized = LOWER(actor), action = UPPER(action);
+
+-- Gli indici composti coprono anche i vecchi indici a colonna singola
+DROP INDEX IF EXISTS idx_audit_logs_created_at;
+DROP INDEX IF EXISTS idx_audit_logs_actor;
+DROP INDEX IF EXISTS idx_audit_logs_action;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id
+  ON audit_logs(created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_created_at_id
+  ON audit_logs(action, created_at, id);
+
+-- varchar_pattern_ops: indice usabile per LIKE 'prefisso%' con qualsiasi collation del database
+CREATE INDEX IF NOT EXISTS idx_audit_logs_actor_normalized_created_at_id
+  ON audit_logs(actor_normalized varchar_pattern_ops, created_at, id);
+
+CREATE TABLE IF NOT EXISTS audit_log_counts (
+  action VARCHAR(100) PRIMARY KEY,
+  total BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO audit_log_counts (action, total)
+  SELECT action, COUNT(*) FROM audit_logs GROUP BY action
+  ON CONFLICT (action) DO NOTHING;
+
+CREATE OR REPLACE FUNCTION audit_log_counts_maintain() RETURNS trigger AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO audit_log_counts (action, total) VALUES (NEW.action, 1)
+      ON CONFLICT (action) DO UPDATE SET total = audit_log_counts.total + 1;
+  ELSE
+    UPDATE audit_log_counts SET total = total - 1 WHERE action = OLD.action;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS audit_logs_count ON audit_logs;
+CREATE TRIGGER audit_logs_count
+  AFTER INSERT OR DELETE ON audit_logs
+  FOR EACH ROW EXECUTE FUNCTION audit_log_counts_maintain();
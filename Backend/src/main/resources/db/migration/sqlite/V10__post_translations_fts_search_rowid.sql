@@ -0,0 +1,50 @@
+-- Chiave intera stabile per l'indice FTS5 a contenuto esterno. V9 usava il rowid implicito di
+-- post_translations, che VACUUM può rinumerare (la tabella ha una chiave primaria TEXT): l'indice
+-- avrebbe puntato alle traduzioni sbagliate. search_rowid è una colonna normale, quindi VACUUM non la tocca;
+-- le righe esistenti partono dal rowid attuale, le nuove ricevono il massimo + 1 dal trigger di insert.
+
+ALTER TABLE post_translations ADD COLUMN search_rowid INTEGER;
+
+UPDATE post_translations SET search_rowid = rowid;
+
+CREATE UNIQUE INDEX ux_post_translations_search_rowid ON post_translations (search_rowid);
+
+DROP TRIGGER IF EXISTS post_translations_fts_ai;
+DROP TRIGGER IF EXISTS post_translations_fts_ad;
+DROP TRIGGER IF EXISTS post_translations_fts_au;
+DROP TABLE IF EXISTS post_translations_fts;
+
+CREATE VIRTUAL TABLE post_translations_fts USING fts5(
+  title,
+  content,
+  locale UNINDEXED,
+  content = 'post_translations',
+  content_rowid = 'search_rowid',
+  tokenize = 'porter unicode61 remove_diacritics 2'
+);
+
+INSERT INTO post_translations_fts (post_translations_fts) VALUES ('rebuild');
+
+-- JPA non conosce search_rowid: la assegna il trigger subito dopo l'insert (lookup sull'indice unico)
+CREATE TRIGGER post_translations_fts_ai AFTER INSERT ON post_translations
+BEGIN
+  UPDATE post_translations
+    SET search_rowid = (SELECT COALESCE(MAX(search_rowid), 0) + 1 FROM post_translations)
+    WHERE id = new.id;
+  INSERT INTO post_translations_fts (rowid, title, content, locale)
+    SELECT search_rowid, title, content, locale FROM post_translations WHERE id = new.id;
+END;
+
+CREATE TRIGGER post_translations_fts_ad AFTER DELETE ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (post_translations_fts, rowid, title, content, locale)
+    VALUES ('delete', old.search_rowid, old.title, old.content, old.locale);
+END;
+
+CREATE TRIGGER post_translations_fts_au AFTER UPDATE OF title, content, locale ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (post_translations_fts, rowid, title, content, locale)
+    VALUES ('delete', old.search_rowid, old.title, old.content, old.locale);
+  INSERT INTO post_translations_fts (rowid, title, content, locale)
+    VALUES (new.search_rowid, new.title, new.content, new.locale);
+END;
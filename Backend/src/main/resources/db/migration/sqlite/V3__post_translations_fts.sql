@@ -0,0 +1,32 @@
+-- Indice full-text (FTS5) su titolo e contenuto delle traduzioni, mantenuto da trigger.
+-- Tokenizer: unicode61 senza accenti + stemmer porter (inglese); per it/es la ricerca usa i prefissi.
+-- translation_id e locale non sono indicizzati: servono solo per join e filtro.
+
+CREATE VIRTUAL TABLE IF NOT EXISTS post_translations_fts USING fts5(
+  title,
+  content,
+  locale UNINDEXED,
+  translation_id UNINDEXED,
+  tokenize = 'porter unicode61 remove_diacritics 2'
+);
+
+INSERT INTO post_translations_fts (title, content, locale, translation_id)
+  SELECT title, content, locale, id FROM post_translations;
+
+CREATE TRIGGER IF NOT EXISTS post_translations_fts_ai AFTER INSERT ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (title, content, locale, translation_id)
+    VALUES (new.title, new.content, new.locale, new.id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS post_translations_fts_ad AFTER DELETE ON post_translations
+BEGIN
+  DELETE FROM post_translations_fts WHERE translation_id = old.id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS post_translations_fts_au AFTER UPDATE OF title, content, locale ON post_translations
+BEGIN
+  DELETE FROM post_translations_fts WHERE translation_id = old.id;
+  INSERT INTO post_translations_fts (title, content, locale, translation_id)
+    VALUES (new.title, new.content, new.locale, new.id);
+END;
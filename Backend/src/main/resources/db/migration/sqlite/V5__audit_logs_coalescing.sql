@@ -0,0 +1,3 @@
+-- Accorpamento degli eventi di audit ripetuti (AuditLogCoalescer): una riga con conteggio e ultimo istante.
+ALTER TABLE audit_logs ADD COLUMN occurrence_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE audit_logs ADD COLUMN last_seen_at TIMESTAMP;
@@ -0,0 +1,40 @@
+-- Navigazione keyset degli audit log: colonne normalizzate, indici composti (filtro, created_at, id)
+-- e totali per azione mantenuti da trigger (niente COUNT sull'intera tabella a ogni pagina).
+
+-- Actor in minuscolo (filtro per prefisso) e action in maiuscolo (uguaglianza senza UPPER())
+ALTER TABLE audit_logs ADD COLUMN actor_normalized VARCHAR(255) NOT NULL DEFAULT '';
+UPDATE audit_logs SET actor_normalized = LOWER(actor), action = UPPER(action);
+
+-- Gli indici composti coprono anche i vecchi indici a colonna singola
+DROP INDEX IF EXISTS idx_audit_logs_created_at;
+DROP INDEX IF EXISTS idx_audit_logs_actor;
+DROP INDEX IF EXISTS idx_audit_logs_action;
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_created_at_id
+  ON audit_logs(created_at, id);
+
+CREATE INDEX IF NOT EXISTS idx_audit_logs_action_created_at_id
+  ON audit_logs(action, created_at, id);
+
+-- NOCASE: condizione perché SQLite usi l'indice per LIKE 'prefisso%' (i valori sono già minuscoli)
+CREATE INDEX IF NOT EXISTS idx_audit_logs_actor_normalized_created_at_id
+  ON audit_logs(actor_normalized COLLATE NOCASE, created_at, id);
+
+CREATE TABLE IF NOT EXISTS audit_log_counts (
+  action VARCHAR(100) PRIMARY KEY,
+  total BIGINT NOT NULL DEFAULT 0
+);
+
+INSERT INTO audit_log_counts (action, total)
+  SELECT action, COUNT(*) FROM audit_logs GROUP BY action;
+
+CREATE TRIGGER IF NOT EXISTS audit_logs_count_ai AFTER INSERT ON audit_logs
+BEGIN
+  INSERT INTO audit_log_counts (action, total) VALUES (new.action, 1)
+    ON CONFLICT (action) DO UPDATE SET total = total + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS audit_logs_count_ad AFTER DELETE ON audit_logs
+BEGIN
+  UPDATE audit_log_counts SET total = total - 1 WHERE action = old.action;
+END;
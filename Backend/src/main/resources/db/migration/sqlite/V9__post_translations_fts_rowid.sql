@@ -0,0 +1,45 @@
+-- Indice full-text delle traduzioni come tabella FTS5 a contenuto esterno (content = post_translations):
+-- le righe FTS hanno lo stesso rowid della traduzione, quindi trigger e join vanno per rowid (lookup
+-- sulla chiave) invece di cercare translation_id con una scansione completa dell'indice, come in V3.
+-- Testo e locale non sono più duplicati nella tabella FTS: vengono letti da post_translations.
+--
+-- SQLite può rinumerare i rowid con VACUUM (post_translations non ha una INTEGER PRIMARY KEY):
+-- dopo un VACUUM ricostruire l'indice con
+--   INSERT INTO post_translations_fts (post_translations_fts) VALUES ('rebuild');
+
+DROP TRIGGER IF EXISTS post_translations_fts_ai;
+DROP TRIGGER IF EXISTS post_translations_fts_ad;
+DROP TRIGGER IF EXISTS post_translations_fts_au;
+DROP TABLE IF EXISTS post_translations_fts;
+
+CREATE VIRTUAL TABLE post_translations_fts USING fts5(
+  title,
+  content,
+  locale UNINDEXED,
+  content = 'post_translations',
+  content_rowid = 'rowid',
+  tokenize = 'porter unicode61 remove_diacritics 2'
+);
+
+INSERT INTO post_translations_fts (post_translations_fts) VALUES ('rebuild');
+
+CREATE TRIGGER post_translations_fts_ai AFTER INSERT ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (rowid, title, content, locale)
+    VALUES (new.rowid, new.title, new.content, new.locale);
+END;
+
+-- Con contenuto esterno la riga si rimuove con il comando 'delete' e i valori indicizzati
+CREATE TRIGGER post_translations_fts_ad AFTER DELETE ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (post_translations_fts, rowid, title, content, locale)
+    VALUES ('delete', old.rowid, old.title, old.content, old.locale);
+END;
+
+CREATE TRIGGER post_translations_fts_au AFTER UPDATE OF title, content, locale ON post_translations
+BEGIN
+  INSERT INTO post_translations_fts (post_translations_fts, rowid, title, content, locale)
+    VALUES ('delete', old.rowid, old.title, old.content, old.locale);
+  INSERT INTO post_translations_fts (rowid, title, content, locale)
+    VALUES (new.rowid, new.title, new.content, new.locale);
+END;
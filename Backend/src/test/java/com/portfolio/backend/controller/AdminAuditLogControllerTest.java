@@ -0,0 +1,54 @@
+package com.portfolio.backend.controller;
+
+import com.portfolio.backend.exception.GlobalExceptionHandler;
+import com.portfolio.backend.service.AuditLogExportService;
+import com.portfolio.backend.service.AuditLogService;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class AdminAuditLogControllerTest {
+
+    private final AuditLogService auditLogService = mock(AuditLogService.class);
+    private final AuditLogExportService auditLogExportService = mock(AuditLogExportService.class);
+    private final MockMvc mockMvc = MockMvcBuilders
+            .standaloneSetup(new AdminAuditLogController(auditLogService, auditLogExportService))
+            .setControllerAdvice(new GlobalExceptionHandler())
+            .build();
+
+    @Test
+    void unsupportedExportFormatIsBadRequest() throws Exception {
+        mockMvc.perform(get("/api/admin/audit-logs/export").param("format", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status").value(400));
+
+        verify(auditLogService, never()).log(any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void gzipIsAcceptedOnlyWithPositiveWeight() {
+        assertThat(AdminAuditLogController.acceptsGzip("gzip, deflate, br")).isTrue();
+        assertThat(AdminAuditLogController.acceptsGzip("br;q=1.0, GZIP;q=0.5")).isTrue();
+        assertThat(AdminAuditLogController.acceptsGzip("x-gzip")).isTrue();
+        assertThat(AdminAuditLogController.acceptsGzip("*")).isTrue();
+
+        assertThat(AdminAuditLogController.acceptsGzip(null)).isFalse();
+        assertThat(AdminAuditLogController.acceptsGzip("identity")).isFalse();
+        assertThat(AdminAuditLogController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(AdminAuditLogController.acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+        // Una codifica esplicita prevale su '*'
+        assertThat(AdminAuditLogController.acceptsGzip("*;q=1, gzip;q=0")).isFalse();
+        assertThat(AdminAuditLogController.acceptsGzip("*;q=0, gzip")).isTrue();
+        assertThat(AdminAuditLogController.acceptsGzip("*;q=0")).isFalse();
+        assertThat(AdminAuditLogController.acceptsGzip("deflate-gzip")).isFalse();
+    }
+}
@@ -0,0 +1,81 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:${java.io.tmpdir}/portfolio-audit-logs-test.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class AuditLogSpecificationTest {
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @BeforeEach
+    void setUp() {
+        auditLogRepository.deleteAll();
+        for (String actor : List.of("Mario.Rossi@example.com", "anna_bianchi@example.com", "annaXbianchi@example.com",
+                "sconto100%@example.com", "sconto1000@example.com")) {
+            AuditLog log = new AuditLog();
+            log.setActor(actor);
+            log.setAction("LOGIN_SUCCESS");
+            auditLogRepository.save(log);
+        }
+    }
+
+    @Test
+    void offsetFiltersMatchActorSubstringIgnoringCase() {
+        assertThat(actors(AuditLogSpecification.withFilters(null, "ROSSI", null, null)))
+                .containsExactly("Mario.Rossi@example.com");
+        assertThat(actors(AuditLogSpecification.withFilters(null, "@example", null, null))).hasSize(5);
+    }
+
+    @Test
+    void keysetFiltersMatchActorPrefixOnly() {
+        assertThat(actors(AuditLogSpecification.withActorPrefixFilters(null, "rossi", null, null))).isEmpty();
+        assertThat(actors(AuditLogSpecification.withActorPrefixFilters(null, "mario.", null, null)))
+                .containsExactly("Mario.Rossi@example.com");
+    }
+
+    @Test
+    void wildcardsInActorAreMatchedLiterally() {
+        // '_' e '%' nel filtro non devono comportarsi da jolly
+        assertThat(actors(AuditLogSpecification.withFilters(null, "a_b", null, null)))
+                .containsExactly("anna_bianchi@example.com");
+        assertThat(actors(AuditLogSpecification.withActorPrefixFilters(null, "anna_", null, null)))
+                .containsExactly("anna_bianchi@example.com");
+        assertThat(actors(AuditLogSpecification.withFilters(null, "100%", null, null)))
+                .containsExactly("sconto100%@example.com");
+        assertThat(actors(AuditLogSpecification.withActorPrefixFilters(null, "sconto100%", null, null)))
+                .containsExactly("sconto100%@example.com");
+    }
+
+    @Test
+    void escapeCharacterInActorIsMatchedLiterally() {
+        AuditLog log = new AuditLog();
+        log.setActor("dominio\\utente");
+        log.setAction("LOGIN_SUCCESS");
+        auditLogRepository.save(log);
+
+        assertThat(actors(AuditLogSpecification.withFilters(null, "o\\u", null, null)))
+                .containsExactly("dominio\\utente");
+    }
+
+    private List<String> actors(Specification<AuditLog> spec) {
+        return auditLogRepository.findAll(spec).stream().map(AuditLog::getActor).toList();
+    }
+}
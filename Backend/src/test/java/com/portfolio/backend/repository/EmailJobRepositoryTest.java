@@ -0,0 +1,115 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.EmailJob;
+import com.portfolio.backend.entity.EmailJobStatus;
+import com.portfolio.backend.entity.EmailJobType;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:${java.io.tmpdir}/portfolio-email-jobs-test.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EmailJobClaimRepository.class)
+class EmailJobRepositoryTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Autowired
+    private EmailJobRepository emailJobRepository;
+    @Autowired
+    private EmailJobClaimRepository emailJobClaimRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void completeLeaseAppliesOnlyWithCurrentLeaseToken() {
+        String id = pendingJob();
+        assertThat(emailJobClaimRepository.claimDue(NOW, 10, "worker-a")).extracting(EmailJob::getId).containsExactly(id);
+
+        assertThat(emailJobRepository.completeLease(id, "worker-b", EmailJobStatus.SENT, 1, NOW, null, NOW + 1)).isZero();
+        assertThat(emailJobRepository.completeLease(id, "worker-a", EmailJobStatus.SENT, 1, NOW, null, NOW + 1)).isEqualTo(1);
+
+        EmailJob job = reload(id);
+        assertThat(job.getStatus()).isEqualTo(EmailJobStatus.SENT);
+        assertThat(job.getAttempts()).isEqualTo(1);
+        assertThat(job.getLockedBy()).isNull();
+        assertThat(job.getLockedAtMs()).isNull();
+        assertThat(job.getUpdatedAtMs()).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void staleLeaseCannotCompleteAJobReclaimedByAnotherWorker() {
+        String id = pendingJob();
+        emailJobClaimRepository.claimDue(NOW, 10, "worker-a");
+        // worker-a è bloccato: il lock scade, il job torna PENDING e lo prende worker-b
+        assertThat(emailJobRepository.releaseStaleLocks(NOW + 1, NOW + 2)).isEqualTo(1);
+        assertThat(emailJobClaimRepository.claimDue(NOW + 3, 10, "worker-b")).extracting(EmailJob::getId).containsExactly(id);
+
+        int late = emailJobRepository.completeLease(id, "worker-a", EmailJobStatus.PENDING, 1, NOW + 60_000, "timeout", NOW + 4);
+
+        assertThat(late).isZero();
+        EmailJob job = reload(id);
+        assertThat(job.getStatus()).isEqualTo(EmailJobStatus.IN_PROGRESS);
+        assertThat(job.getLockedBy()).isEqualTo("worker-b");
+        assertThat(job.getLastError()).isNull();
+    }
+
+    @Test
+    void completeLeaseIgnoresJobsNoLongerInProgress() {
+        String id = pendingJob();
+
+        assertThat(emailJobRepository.completeLease(id, null, EmailJobStatus.SENT, 1, NOW, null, NOW)).isZero();
+        assertThat(reload(id).getStatus()).isEqualTo(EmailJobStatus.PENDING);
+    }
+
+    @Test
+    void claimTakesOnlyDueJobsOldestFirst() {
+        String first = pendingJob(NOW - 2_000, NOW);
+        String second = pendingJob(NOW - 1_000, NOW);
+        pendingJob(NOW - 3_000, NOW + 60_000);
+
+        List<EmailJob> claimed = emailJobClaimRepository.claimDue(NOW, 10, "worker-a");
+
+        assertThat(claimed).extracting(EmailJob::getId).containsExactly(first, second);
+        assertThat(claimed).allSatisfy(j -> {
+            assertThat(j.getStatus()).isEqualTo(EmailJobStatus.IN_PROGRESS);
+            assertThat(j.getLockedBy()).isEqualTo("worker-a");
+        });
+        assertThat(emailJobClaimRepository.claimDue(NOW, 10, "worker-b")).isEmpty();
+    }
+
+    private String pendingJob() {
+        return pendingJob(NOW - 1_000, NOW);
+    }
+
+    private String pendingJob(long createdAtMs, long nextAttemptAtMs) {
+        EmailJob job = new EmailJob();
+        job.setType(EmailJobType.CONTACT_NOTIFY_OWNER);
+        job.setStatus(EmailJobStatus.PENDING);
+        job.setContactId("contact-id");
+        job.setCreatedAtMs(createdAtMs);
+        job.setUpdatedAtMs(createdAtMs);
+        job.setNextAttemptAtMs(nextAttemptAtMs);
+        String id = entityManager.persistFlushFind(job).getId();
+        entityManager.clear();
+        return id;
+    }
+
+    private EmailJob reload(String id) {
+        entityManager.clear();
+        return entityManager.find(EmailJob.class, id);
+    }
+}
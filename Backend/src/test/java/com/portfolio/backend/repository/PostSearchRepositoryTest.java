@@ -0,0 +1,93 @@
+package com.portfolio.backend.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ricerca FTS5 su SQLite con indice e trigger creati dalle migrazioni reali (V9, V10).
+ */
+class PostSearchRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private JdbcTemplate jdbc;
+    private PostSearchRepository repository;
+
+    @BeforeEach
+    void setUp() {
+        String url = "jdbc:sqlite:" + dir.resolve("search.db");
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(url);
+        jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE posts (id VARCHAR(36) PRIMARY KEY, status VARCHAR(20) NOT NULL)");
+        jdbc.execute("""
+                CREATE TABLE post_translations (
+                  id VARCHAR(36) PRIMARY KEY,
+                  post_id VARCHAR(36) NOT NULL,
+                  locale VARCHAR(5) NOT NULL,
+                  slug VARCHAR(255) NOT NULL,
+                  title VARCHAR(500) NOT NULL,
+                  content TEXT NOT NULL)
+                """);
+        jdbc.update("INSERT INTO posts (id, status) VALUES ('p1', 'published')");
+        insert("t1", "Primo articolo", "Testo sul calcio");
+        // Solo le migrazioni dell'indice: lo schema sopra fa da baseline
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/sqlite")
+                .baselineOnMigrate(true)
+                .baselineVersion("8")
+                .load()
+                .migrate();
+        repository = new PostSearchRepository(new NamedParameterJdbcTemplate(dataSource), url);
+    }
+
+    @Test
+    void existingAndNewTranslationsAreIndexed() {
+        insert("t2", "Secondo articolo", "Testo sul tennis");
+
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("articolo"), 10))
+                .containsExactlyInAnyOrder("t1", "t2");
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("tenn"), 10)).containsExactly("t2");
+    }
+
+    @Test
+    void updatedAndDeletedTranslationsLeaveTheIndex() {
+        insert("t2", "Secondo articolo", "Testo sul tennis");
+
+        jdbc.update("UPDATE post_translations SET content = 'Testo sul nuoto' WHERE id = 't2'");
+        jdbc.update("DELETE FROM post_translations WHERE id = 't1'");
+
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("tennis"), 10)).isEmpty();
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("calcio"), 10)).isEmpty();
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("nuoto"), 10)).containsExactly("t2");
+    }
+
+    @Test
+    void indexStillMatchesAfterRowidsAreRenumbered() {
+        insert("t2", "Secondo articolo", "Testo sul tennis");
+        // VACUUM può rinumerare i rowid impliciti di una tabella con chiave TEXT: qui lo si forza a mano
+        jdbc.update("UPDATE post_translations SET rowid = rowid + 100");
+        jdbc.execute("VACUUM");
+        insert("t3", "Terzo articolo", "Testo sul nuoto");
+
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("calcio"), 10)).containsExactly("t1");
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("tennis"), 10)).containsExactly("t2");
+        assertThat(repository.searchPublishedTranslationIds("it", List.of("nuoto"), 10)).containsExactly("t3");
+    }
+
+    private void insert(String id, String title, String content) {
+        jdbc.update("INSERT INTO post_translations (id, post_id, locale, slug, title, content) VALUES (?, 'p1', 'it', ?, ?, ?)",
+                id, id, title, content);
+    }
+}
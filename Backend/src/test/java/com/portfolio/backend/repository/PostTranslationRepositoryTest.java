@@ -0,0 +1,51 @@
+package com.portfolio.backend.repository;
+
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.entity.PostTranslation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:sqlite:file:${java.io.tmpdir}/portfolio-jpa-test.db",
+        "spring.datasource.driver-class-name=org.sqlite.JDBC",
+        "spring.jpa.database-platform=org.hibernate.community.dialect.SQLiteDialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class PostTranslationRepositoryTest {
+
+    @Autowired
+    private PostRepository postRepository;
+    @Autowired
+    private PostTranslationRepository postTranslationRepository;
+
+    @Test
+    void findsSlugsEqualOrExtendingBases() {
+        Post post = new Post();
+        post.setSlug("post");
+        postRepository.save(post);
+        for (String slug : List.of("ciao", "ciao-it", "ciao-en", "ciaone", "altro")) {
+            PostTranslation t = new PostTranslation();
+            t.setPost(post);
+            t.setPostId(post.getId());
+            t.setLocale("it");
+            t.setSlug(slug);
+            t.setTitle("Titolo");
+            t.setContent("Contenuto");
+            postTranslationRepository.save(t);
+        }
+        postTranslationRepository.flush();
+
+        List<TranslationSlugRow> rows = postTranslationRepository.findSlugsEqualOrExtending(List.of("ciao"));
+
+        assertThat(rows).extracting(TranslationSlugRow::slug).containsExactlyInAnyOrder("ciao", "ciao-it", "ciao-en");
+        assertThat(rows).allSatisfy(r -> assertThat(r.id()).isNotBlank());
+    }
+}
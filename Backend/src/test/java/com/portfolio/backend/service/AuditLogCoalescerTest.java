@@ -0,0 +1,104 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.entity.AuditLog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class AuditLogCoalescerTest {
+
+    private final AuditLogWriter writer = mock(AuditLogWriter.class);
+    private AuditLogCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        coalescer = new AuditLogCoalescer(writer, "RATE_LIMIT_EXCEEDED", 1, 2);
+        coalescer.start();
+    }
+
+    @Test
+    void identicalEventsInWindowBecomeOneRowWhenWindowCloses() {
+        Instant first = Instant.now().minusSeconds(5);
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", first))).isTrue();
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", first.plusMillis(300)))).isTrue();
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", first.plusMillis(200)))).isTrue();
+
+        coalescer.flushExpired();
+
+        AuditLog written = captureSingleWrite();
+        assertThat(written.getOccurrenceCount()).isEqualTo(3);
+        assertThat(written.getCreatedAt()).isEqualTo(first);
+        assertThat(written.getLastSeenAt()).isEqualTo(first.plusMillis(300));
+    }
+
+    @Test
+    void openWindowIsNotWrittenBeforeItCloses() {
+        coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", Instant.now()));
+
+        coalescer.flushExpired();
+
+        verify(writer, never()).submit(any());
+    }
+
+    @Test
+    void singleEventHasNoLastSeenAt() {
+        coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", Instant.now().minusSeconds(5)));
+
+        coalescer.flushExpired();
+
+        AuditLog written = captureSingleWrite();
+        assertThat(written.getOccurrenceCount()).isEqualTo(1);
+        assertThat(written.getLastSeenAt()).isNull();
+    }
+
+    @Test
+    void otherActionsAndKeysOverCapAreNotCoalesced() {
+        Instant now = Instant.now();
+        assertThat(coalescer.offer(entry("LOGIN_FAILURE", "ip-a", now))).isFalse();
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", now))).isTrue();
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-b", now))).isTrue();
+        // max-keys = 2: una terza chiave viene scritta direttamente, una già aperta continua ad accorpare
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-c", now))).isFalse();
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", now))).isTrue();
+    }
+
+    @Test
+    void stopWritesOpenWindowsAndLaterEventsGoDirect() {
+        Instant now = Instant.now();
+        coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", now));
+        coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-b", now));
+
+        coalescer.stop();
+
+        verify(writer, times(2)).submit(any());
+        assertThat(coalescer.offer(entry("RATE_LIMIT_EXCEEDED", "ip-a", now))).isFalse();
+    }
+
+    private AuditLog captureSingleWrite() {
+        ArgumentCaptor<AuditLog> captor = ArgumentCaptor.forClass(AuditLog.class);
+        verify(writer).submit(captor.capture());
+        List<AuditLog> values = captor.getAllValues();
+        assertThat(values).hasSize(1);
+        return values.get(0);
+    }
+
+    private static AuditLog entry(String action, String ipHash, Instant createdAt) {
+        AuditLog entry = new AuditLog();
+        entry.setActor("anonymous");
+        entry.setAction(action);
+        entry.setResourceType("CONTACT");
+        entry.setIpAddress(ipHash);
+        entry.setCreatedAt(createdAt);
+        return entry;
+    }
+}
@@ -0,0 +1,155 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.entity.AuditLog;
+import com.portfolio.backend.repository.AuditLogRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuditLogWriterTest {
+
+    private static final String INVALID_ACTION = "INVALID";
+
+    private final AuditLogRepository repository = mock(AuditLogRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    /** Azioni degli eventi salvati, nell'ordine di scrittura. */
+    private final List<String> saved = new CopyOnWriteArrayList<>();
+
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        // Il repository rifiuta gli eventi INVALID come farebbe la validazione al flush
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            Collection<AuditLog> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(e -> INVALID_ACTION.equals(e.getAction()))) {
+                throw new ConstraintViolationException("actor: size must be between 0 and 255", Set.of());
+            }
+            batch.forEach(e -> saved.add(e.getAction()));
+            return List.copyOf(batch);
+        });
+        when(repository.save(any())).thenAnswer(invocation -> {
+            AuditLog entry = invocation.getArgument(0);
+            if (INVALID_ACTION.equals(entry.getAction())) {
+                throw new ConstraintViolationException("actor: size must be between 0 and 255", Set.of());
+            }
+            saved.add(entry.getAction());
+            return entry;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.stop();
+        }
+    }
+
+    @Test
+    void invalidEntryIsDroppedAloneAndWriterKeepsRunning() throws InterruptedException {
+        writer = newWriter(100, 50, "block");
+        writer.start();
+
+        writer.submit(entry("BEFORE"));
+        writer.submit(entry(INVALID_ACTION));
+        writer.submit(entry("AFTER"));
+        awaitSaved(2);
+
+        // Il thread è ancora vivo: anche gli eventi successivi vengono scritti
+        writer.submit(entry("LATER"));
+        awaitSaved(3);
+
+        assertThat(saved).containsExactlyInAnyOrder("BEFORE", "AFTER", "LATER");
+        assertThat(meterRegistry.counter("audit.log.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropPolicyDiscardsEventsWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            Collection<AuditLog> batch = invocation.getArgument(0);
+            batch.forEach(e -> saved.add(e.getAction()));
+            return List.copyOf(batch);
+        }).when(repository).saveAll(any());
+        writer = newWriter(1, 10, "drop");
+        writer.start();
+
+        writer.submit(entry("FIRST"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+        // Il worker è bloccato sulla scrittura: il buffer da 1 si riempie e il terzo evento è scartato
+        writer.submit(entry("SECOND"));
+        writer.submit(entry("THIRD"));
+        release.countDown();
+        writer.stop();
+
+        assertThat(saved).containsExactly("FIRST", "SECOND");
+        assertThat(meterRegistry.counter("audit.log.dropped").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void stopFlushesBufferedEvents() {
+        writer = newWriter(1000, 200, "block");
+        writer.start();
+        for (int i = 0; i < 250; i++) {
+            writer.submit(entry("EVENT_" + i));
+        }
+
+        writer.stop();
+
+        assertThat(saved).hasSize(250);
+        assertThat(writer.isRunning()).isFalse();
+    }
+
+    @Test
+    void writesSynchronouslyWhenNotRunning() {
+        writer = newWriter(10, 50, "block");
+
+        writer.submit(entry("SYNC"));
+
+        assertThat(saved).containsExactly("SYNC");
+    }
+
+    private AuditLogWriter newWriter(int bufferSize, long flushIntervalMs, String fullPolicy) {
+        return new AuditLogWriter(repository, transactionManager, meterRegistry,
+                bufferSize, 100, flushIntervalMs, fullPolicy, 10, 10);
+    }
+
+    private void awaitSaved(int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (saved.size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(saved).hasSizeGreaterThanOrEqualTo(count);
+    }
+
+    private static AuditLog entry(String action) {
+        AuditLog entry = new AuditLog();
+        entry.setActor("admin");
+        entry.setAction(action);
+        entry.setCreatedAt(Instant.now());
+        return entry;
+    }
+}
@@ -0,0 +1,65 @@
+package com.portfolio.backend.service;
+
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtKeyRingTest {
+
+    private static final String SECRET = "segreto-jwt-di-almeno-trentadue-byte-000";
+    private static final String NEW_SECRET = "nuovo-segreto-di-almeno-trentadue-byte-1";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void defaultKeyVerifiesTokensWithoutKidUntilRetired() throws IOException {
+        Path keysFile = write("active=2026-10\nkey.2026-10=" + NEW_SECRET + "\n");
+        JwtKeyRing ring = new JwtKeyRing(SECRET, keysFile.toString());
+
+        assertThat(ring.signingKey().keyId()).isEqualTo("2026-10");
+        assertThat(ring.verificationKey(null)).isEqualTo(ring.verificationKey(JwtKeyRing.DEFAULT_KEY_ID));
+        assertThat(ring.isActive(null)).isTrue();
+
+        // Passo finale della migrazione: jwt.secret ritirato, applicato al reload
+        write("active=2026-10\nkey.2026-10=" + NEW_SECRET + "\naccept-default=false\n");
+        Files.setLastModifiedTime(keysFile, FileTime.from(Instant.now().plusSeconds(5)));
+        ring.reloadIfChanged();
+
+        assertThatThrownBy(() -> ring.verificationKey(null)).isInstanceOf(JwtException.class);
+        assertThatThrownBy(() -> ring.verificationKey(JwtKeyRing.DEFAULT_KEY_ID)).isInstanceOf(JwtException.class);
+        assertThat(ring.isActive(null)).isFalse();
+        assertThat(ring.isActive(JwtKeyRing.DEFAULT_KEY_ID)).isFalse();
+        assertThat(ring.verificationKey("2026-10")).isEqualTo(ring.signingKey().key());
+    }
+
+    @Test
+    void retiringDefaultRequiresAnotherActiveKey() throws IOException {
+        Path keysFile = write("key.2026-10=" + NEW_SECRET + "\naccept-default=false\n");
+
+        assertThatThrownBy(() -> new JwtKeyRing(SECRET, keysFile.toString()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void withoutKeysFileOnlyJwtSecretIsUsed() {
+        JwtKeyRing ring = new JwtKeyRing(SECRET, "");
+
+        assertThat(ring.signingKey().keyId()).isEqualTo(JwtKeyRing.DEFAULT_KEY_ID);
+        assertThat(ring.verificationKey(null)).isEqualTo(ring.signingKey().key());
+        assertThatThrownBy(() -> ring.verificationKey("2026-10")).isInstanceOf(JwtException.class);
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("jwt-keys.properties"), content);
+    }
+}
@@ -0,0 +1,147 @@
+package com.portfolio.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.portfolio.backend.controller.dto.BulkImportResponse;
+import com.portfolio.backend.entity.Post;
+import com.portfolio.backend.entity.PostTranslation;
+import com.portfolio.backend.repository.PostRepository;
+import com.portfolio.backend.repository.PostTranslationRepository;
+import com.portfolio.backend.repository.PublishedPostRow;
+import com.portfolio.backend.service.TranslationSlugAllocator.SlugRequest;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostBulkServiceTest {
+
+    private static final Instant CREATED_AT = Instant.parse("2024-03-01T10:15:30Z");
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PostTranslationRepository postTranslationRepository = mock(PostTranslationRepository.class);
+    private final TranslationSlugAllocator slugAllocator = mock(TranslationSlugAllocator.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final ObjectMapper objectMapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    /** Post salvati dall'import, con le traduzioni collegate. */
+    private final List<Post> savedPosts = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(postRepository.findExistingSlugs(any())).thenReturn(List.of());
+        // Nessuna collisione in DB: ogni traduzione riceve lo slug richiesto
+        when(slugAllocator.allocate(anyList())).thenAnswer(invocation -> {
+            List<SlugRequest> requests = invocation.getArgument(0);
+            return requests.stream().map(SlugRequest::slug).toList();
+        });
+        when(postRepository.save(any())).thenAnswer(invocation -> {
+            Post post = invocation.getArgument(0);
+            post.setId(UUID.randomUUID().toString());
+            savedPosts.add(post);
+            return post;
+        });
+    }
+
+    @Test
+    void exportedPostsAreImportedBackWithSlugsStatusAndTranslations() throws IOException {
+        // Lo slug del post è diverso dal titolo della prima traduzione: deve sopravvivere al giro completo
+        when(postRepository.streamAllRows()).thenReturn(Stream.of(
+                new PublishedPostRow("p1", "la-vittoria", CREATED_AT, "published",
+                        "t1", "it", "la-vittoria", "Vittoria storica", "Contenuto"),
+                new PublishedPostRow("p1", "la-vittoria", CREATED_AT, "published",
+                        "t2", "en", "the-victory", "Historic win", "Content"),
+                new PublishedPostRow("p2", "bozza", CREATED_AT, "draft",
+                        null, null, null, null, null)));
+
+        byte[] exported = export();
+        BulkImportResponse response = newService(50).importNdjson(new ByteArrayInputStream(exported));
+
+        assertThat(response.isSuccess()).isTrue();
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(savedPosts)
+                .extracting(Post::getSlug, Post::getStatus, Post::getCreatedAt)
+                .containsExactly(
+                        tuple("la-vittoria", "published", CREATED_AT),
+                        tuple("bozza", "draft", CREATED_AT));
+        assertThat(savedPosts.get(0).getTranslations())
+                .extracting(PostTranslation::getLocale, PostTranslation::getSlug, PostTranslation::getTitle, PostTranslation::getContent)
+                .containsExactly(
+                        tuple("it", "la-vittoria", "Vittoria storica", "Contenuto"),
+                        tuple("en", "the-victory", "Historic win", "Content"));
+        assertThat(savedPosts.get(1).getTranslations()).isEmpty();
+    }
+
+    @Test
+    void slugIsDerivedFromFirstTitleOnlyWhenMissing() throws IOException {
+        String ndjson = """
+                {"status":"draft","translations":[{"locale":"it","title":"Primo Post","content":"x"}]}
+                """;
+
+        BulkImportResponse response = newService(50).importNdjson(input(ndjson));
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(savedPosts).extracting(Post::getSlug).containsExactly("primo-post");
+    }
+
+    @Test
+    void slugOfFailedChunkIsFreeForLaterLines() throws IOException {
+        doThrow(new DataIntegrityViolationException("insert fallito"))
+                .doAnswer(invocation -> {
+                    Post post = invocation.getArgument(0);
+                    savedPosts.add(post);
+                    return post;
+                })
+                .when(postRepository).save(any());
+        String ndjson = """
+                {"slug":"ripetuto","status":"draft"}
+                {"slug":"ripetuto","status":"draft"}
+                """;
+
+        // Un post per blocco: il primo blocco va in rollback, il secondo deve poter usare lo stesso slug
+        BulkImportResponse response = newService(1).importNdjson(input(ndjson));
+
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getErrors()).extracting(BulkImportResponse.LineError::getLine).containsExactly(1);
+        assertThat(savedPosts).extracting(Post::getSlug).containsExactly("ripetuto");
+    }
+
+    private byte[] export() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        newService(50).exportNdjson(out);
+        return out.toByteArray();
+    }
+
+    private PostBulkService newService(int batchSize) {
+        return new PostBulkService(postRepository, postTranslationRepository, slugAllocator, objectMapper,
+                validator, mock(ApplicationEventPublisher.class), transactionManager, batchSize);
+    }
+
+    private static ByteArrayInputStream input(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,71 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.repository.AdminUserRepository;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class PostgresNotificationsTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EmailQueueWorker emailQueueWorker = mock(EmailQueueWorker.class);
+    private final AdminUserRepository adminUserRepository = mock(AdminUserRepository.class);
+    private final AdminTokenVersionRegistry registry = new AdminTokenVersionRegistry(adminUserRepository, 60);
+
+    @Test
+    void revocationIsBroadcastWithUsernameAsPayload() {
+        PostgresNotifications notifications = newNotifications("jdbc:postgresql://db/portfolio");
+
+        notifications.onTokensRevoked(new AdminTokensRevokedEvent("admin"));
+        notifications.onTokensRevoked(new AdminTokensRevokedEvent(null));
+
+        verify(jdbcTemplate).queryForObject(any(), eq(String.class), eq("admin_tokens_revoked"), eq("admin"));
+        verify(jdbcTemplate).queryForObject(any(), eq(String.class), eq("admin_tokens_revoked"), eq(""));
+    }
+
+    @Test
+    void nothingIsSentOnSqlite() {
+        PostgresNotifications notifications = newNotifications("jdbc:sqlite:portfolio.db");
+
+        notifications.onTokensRevoked(new AdminTokensRevokedEvent("admin"));
+        notifications.onJobsEnqueued(new EmailJobsEnqueuedEvent(1));
+
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void revocationFromAnotherInstanceInvalidatesCachedVersion() {
+        when(adminUserRepository.findTokenVersionByUsername("admin")).thenReturn(Optional.of(1), Optional.of(2));
+        assertThat(registry.currentVersion("admin")).hasValue(1);
+
+        newNotifications("jdbc:postgresql://db/portfolio").dispatch(new PGNotification[] {
+                notification("admin_tokens_revoked", "admin"),
+                notification("email_jobs", ""),
+                notification("email_jobs", "")});
+
+        assertThat(registry.currentVersion("admin")).hasValue(2);
+        verify(emailQueueWorker, times(1)).wakeUp();
+    }
+
+    private PostgresNotifications newNotifications(String datasourceUrl) {
+        return new PostgresNotifications(jdbcTemplate, emailQueueWorker, registry, datasourceUrl, "", "", true, "");
+    }
+
+    private static PGNotification notification(String channel, String payload) {
+        PGNotification notification = mock(PGNotification.class);
+        when(notification.getName()).thenReturn(channel);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+}
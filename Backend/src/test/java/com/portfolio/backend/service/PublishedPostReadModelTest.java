@@ -0,0 +1,72 @@
+package com.portfolio.backend.service;
+
+import com.portfolio.backend.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PublishedPostReadModelTest {
+
+    private final PostRepository postRepository = mock(PostRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private PublishedPostReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(postRepository.findByStatusWithTranslationsOrderByCreatedAtDesc(anyString())).thenReturn(List.of());
+        readModel = new PublishedPostReadModel(postRepository, transactionManager, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        readModel.destroy();
+    }
+
+    @Test
+    void burstOfEventsTriggersOneRebuild() throws InterruptedException {
+        // Creazione di un post con tre traduzioni: quattro commit, quattro eventi
+        for (int i = 0; i < 4; i++) {
+            readModel.onPostChanged(new PostChangedEvent("post-id"));
+        }
+
+        verify(postRepository, timeout(2000)).findByStatusWithTranslationsOrderByCreatedAtDesc("published");
+        Thread.sleep(200);
+        verify(postRepository, times(1)).findByStatusWithTranslationsOrderByCreatedAtDesc("published");
+    }
+
+    @Test
+    void eventDuringRebuildSchedulesAnotherOne() throws InterruptedException {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        }).when(postRepository).findByStatusWithTranslationsOrderByCreatedAtDesc(anyString());
+
+        readModel.onPostChanged(new PostChangedEvent("post-id"));
+        assertThat(loading.await(2, TimeUnit.SECONDS)).isTrue();
+        // Commit arrivato mentre il primo rebuild sta già leggendo: non può esserne coperto
+        readModel.onPostChanged(new PostChangedEvent("post-id"));
+        release.countDown();
+
+        verify(postRepository, timeout(2000).times(2)).findByStatusWithTranslationsOrderByCreatedAtDesc("published");
+    }
+}
@@ -0,0 +1,113 @@
+package com.portfolio.backend.service.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Store su SQLite con la tabella creata dalla migrazione V4 reale.
+ */
+class JdbcRateLimitStoreTest {
+
+    /** 20 richieste al minuto: intervallo 3 s, lotto = 20 / 10 = 2 permessi per query. */
+    private static final RateLimitPolicy POLICY = RateLimitPolicy.of("contact", 20, 60);
+    private static final long INTERVAL_MS = 3_000;
+
+    @TempDir
+    Path dir;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:sqlite:" + dir.resolve("rate-limit.db"));
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V4__create_rate_limit_state.sql")).execute(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+    }
+
+    @Test
+    void upsertReservesLeaseThatIsConsumedLocally() {
+        RateLimiter limiter = newStore().limiter(POLICY);
+        long before = System.currentTimeMillis();
+
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        Map<String, Object> afterFirst = row("ip-a");
+        // Primo claim: riga nuova con 2 permessi, TAT spostato di due intervalli
+        assertThat(((Number) afterFirst.get("granted")).intValue()).isEqualTo(2);
+        assertThat(((Number) afterFirst.get("tat_ms")).longValue()).isBetween(
+                before + 2 * INTERVAL_MS, System.currentTimeMillis() + 2 * INTERVAL_MS);
+
+        // Il secondo permesso del lotto è locale: nessuna query, riga invariata
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(row("ip-a")).isEqualTo(afterFirst);
+
+        // Lotto esaurito: nuovo upsert sulla riga esistente (ON CONFLICT DO UPDATE)
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(((Number) row("ip-a").get("tat_ms")).longValue())
+                .isEqualTo(((Number) afterFirst.get("tat_ms")).longValue() + 2 * INTERVAL_MS);
+    }
+
+    @Test
+    void limitIsSharedBetweenInstances() {
+        RateLimiter first = newStore().limiter(POLICY);
+        RateLimiter second = newStore().limiter(POLICY);
+
+        int admitted = 0;
+        for (int i = 0; i < 40; i++) {
+            admitted += (i % 2 == 0 ? first : second).tryAcquire("ip-a") ? 1 : 0;
+        }
+
+        assertThat(admitted).isEqualTo(20);
+        assertThat(((Number) row("ip-a").get("granted")).intValue()).isZero();
+    }
+
+    @Test
+    void purgeExpiredRemovesOnlyRowsWithPastTat() {
+        long now = System.currentTimeMillis();
+        insertRow("old", now - 1_000);
+        insertRow("current", now + 60_000);
+
+        newStore().purgeExpired();
+
+        assertThat(jdbcTemplate.queryForList("SELECT bucket_key FROM rate_limit_state", Map.of(), String.class))
+                .containsExactly("current");
+    }
+
+    @Test
+    void fallsBackToLocalLimitWhenDatabaseFails() {
+        // Database senza la tabella: ogni claim fallisce con DataAccessException
+        DriverManagerDataSource broken = new DriverManagerDataSource("jdbc:sqlite:" + dir.resolve("empty.db"));
+        RateLimiter limiter = new JdbcRateLimitStore(new NamedParameterJdbcTemplate(broken), false, 10,
+                Duration.ofSeconds(2), 1000, null).limiter(RateLimitPolicy.of("admin-login", 2, 60));
+
+        assertThat(limiter.tryAcquire("admin")).isTrue();
+        assertThat(limiter.tryAcquire("admin")).isTrue();
+        assertThat(limiter.tryAcquire("admin")).isFalse();
+    }
+
+    private JdbcRateLimitStore newStore() {
+        return new JdbcRateLimitStore(jdbcTemplate, false, 10, Duration.ofSeconds(2), 1000, null);
+    }
+
+    private Map<String, Object> row(String key) {
+        return jdbcTemplate.queryForMap(
+                "SELECT tat_ms, granted FROM rate_limit_state WHERE policy = :policy AND bucket_key = :key",
+                new MapSqlParameterSource("policy", POLICY.name()).addValue("key", key));
+    }
+
+    private void insertRow(String key, long tatMs) {
+        jdbcTemplate.update("INSERT INTO rate_limit_state (policy, bucket_key, tat_ms, granted) VALUES (:policy, :key, :tat, 1)",
+                new MapSqlParameterSource("policy", POLICY.name()).addValue("key", key).addValue("tat", tatMs));
+    }
+}
@@ -0,0 +1,105 @@
+package com.portfolio.backend.service.ratelimit;
+
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.api.StatefulRedisConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Script GCRA su un server Redis vero (container). Senza Docker la classe viene saltata.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRateLimitStoreGcraTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private RedisRateLimitStore store;
+    private RedisRateLimitStore otherInstance;
+
+    @BeforeEach
+    void setUp() {
+        store = newStore();
+        otherInstance = newStore();
+        try (RedisClient client = RedisClient.create(uri());
+             StatefulRedisConnection<String, String> connection = client.connect()) {
+            connection.sync().flushall();
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.close();
+        otherInstance.close();
+    }
+
+    @Test
+    void admitsBurstUpToLimitThenRejects() {
+        RateLimiter limiter = store.limiter(RateLimitPolicy.of("contact", 5, 60));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("ip-a")).as("richiesta %d", i + 1).isTrue();
+        }
+        assertThat(limiter.tryAcquire("ip-a")).isFalse();
+        assertThat(limiter.tryAcquire("ip-b")).isTrue();
+    }
+
+    @Test
+    void limitIsSharedBetweenInstances() {
+        RateLimitPolicy policy = RateLimitPolicy.of("admin-login", 4, 60);
+        RateLimiter first = store.limiter(policy);
+        RateLimiter second = otherInstance.limiter(policy);
+
+        int admitted = 0;
+        for (int i = 0; i < 10; i++) {
+            admitted += (i % 2 == 0 ? first : second).tryAcquire("admin") ? 1 : 0;
+        }
+
+        assertThat(admitted).isEqualTo(4);
+    }
+
+    @Test
+    void permitIsFreedAfterEmissionInterval() throws InterruptedException {
+        // 2 richieste al secondo: un permesso torna libero ogni 500 ms
+        RateLimiter limiter = store.limiter(new RateLimitPolicy("public-posts", 2, Duration.ofSeconds(1)));
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isFalse();
+
+        Thread.sleep(600);
+
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isFalse();
+    }
+
+    @Test
+    void scriptIsReloadedAfterScriptFlush() {
+        RateLimiter limiter = store.limiter(RateLimitPolicy.of("contact", 2, 60));
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        try (RedisClient client = RedisClient.create(uri());
+             StatefulRedisConnection<String, String> connection = client.connect()) {
+            connection.sync().scriptFlush();
+        }
+
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isFalse();
+    }
+
+    private RedisRateLimitStore newStore() {
+        return new RedisRateLimitStore(uri(), Duration.ofSeconds(2), "test:rl:", 1000, null);
+    }
+
+    private static String uri() {
+        return "redis://" + REDIS.getHost() + ":" + REDIS.getMappedPort(6379);
+    }
+}
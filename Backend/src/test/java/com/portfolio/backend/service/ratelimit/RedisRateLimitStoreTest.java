@@ -0,0 +1,54 @@
+package com.portfolio.backend.service.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Server non raggiungibile: lo store si crea comunque e le decisioni passano al limiter locale.
+ * Il GCRA su un Redis vero è in {@link RedisRateLimitStoreGcraTest}.
+ */
+class RedisRateLimitStoreTest {
+
+    /** Porta 1 su loopback: connessione rifiutata subito. */
+    private static final String UNREACHABLE_URI = "redis://127.0.0.1:1";
+
+    private RedisRateLimitStore store;
+
+    @AfterEach
+    void tearDown() {
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    @Test
+    void startsWithoutServerAndFallsBackToLocalLimit() {
+        store = new RedisRateLimitStore(UNREACHABLE_URI, Duration.ofMillis(200), "test:rl:", 1000, null);
+        RateLimiter limiter = store.limiter(RateLimitPolicy.of("contact", 3, 60));
+
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isTrue();
+        assertThat(limiter.tryAcquire("ip-a")).isFalse();
+        assertThat(limiter.tryAcquire("ip-b")).isTrue();
+    }
+
+    @Test
+    void failedConnectionIsNotRetriedOnEveryRequest() {
+        store = new RedisRateLimitStore(UNREACHABLE_URI, Duration.ofMillis(200), "test:rl:", 1000, null);
+        RateLimiter limiter = store.limiter(RateLimitPolicy.of("public-posts", 1000, 60));
+
+        limiter.tryAcquire("warm-up");
+        long start = System.nanoTime();
+        for (int i = 0; i < 200; i++) {
+            limiter.tryAcquire("ip-" + i);
+        }
+
+        // Durante la pausa di riconnessione nessuna richiesta paga il timeout di connessione
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+}